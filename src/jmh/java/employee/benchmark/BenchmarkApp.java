@@ -0,0 +1,71 @@
+package employee.benchmark;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application, with or without a web server, against its own in-memory H2 database
+ * or, with the durable profile, against H2 files in a given directory.
+ */
+final class BenchmarkApp {
+
+    private static final int SEED_CHUNK = 5000;
+
+    private BenchmarkApp() {
+    }
+
+    // Properties are passed as command-line arguments so they take precedence over application.yml.
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return start(WebApplicationType.NONE, database, properties);
+    }
+
+    // Starts Tomcat on a random port; read it back with port(context).
+    static ConfigurableApplicationContext startServer(String database, String... properties) {
+        List<String> withPort = new ArrayList<>(List.of(properties));
+        withPort.add("server.port=0");
+        return start(WebApplicationType.SERVLET, database, withPort.toArray(String[]::new));
+    }
+
+    static ConfigurableApplicationContext startDurable(Path dataDir, String... properties) {
+        return start(WebApplicationType.NONE, List.of("--spring.profiles.active=durable", "--EMPLOYEE_DATA_DIR=" + dataDir),
+                properties);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String database,
+                                                        String... properties) {
+        return start(type, List.of("--spring.datasource.url=jdbc:h2:mem:" + database), properties);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, List<String> datasource,
+                                                        String... properties) {
+        List<String> args = new ArrayList<>(datasource);
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--logging.level.root=WARN");
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .web(type)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        for (int offset = 0; offset < rows; offset += SEED_CHUNK) {
+            employeeService.createMultipleEmployees(BenchmarkData.dtos(offset, Math.min(SEED_CHUNK, rows - offset)));
+        }
+    }
+}
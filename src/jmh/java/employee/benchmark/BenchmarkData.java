@@ -0,0 +1,70 @@
+package employee.benchmark;
+
+import com.employee.dto.EmployeeDTO;
+import com.employee.model.Employee;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic employee fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final String[] FIRST_NAMES = {"Maria", "Jose", "Juan", "Ana", "Luis", "Carmen", "Carlos", "Laura",
+            "Jorge", "Sofia", "Miguel", "Elena", "Pedro", "Lucia", "Raul", "Isabel", "Diego", "Paula", "Javier", "Marta"};
+    static final String[] LAST_NAMES = {"Garcia", "Martinez", "Lopez", "Sanchez", "Perez", "Gomez", "Martin",
+            "Jimenez", "Ruiz", "Hernandez", "Diaz", "Moreno", "Alvarez", "Romero", "Alonso", "Gutierrez", "Navarro",
+            "Torres", "Dominguez", "Flores"};
+    static final String[] POSITIONS = {"Developer", "Manager", "Analyst", "Designer", "Tester", "Director"};
+
+    // Matches one first/last name combination out of 400.
+    static final String SEARCH_TERM = "raul flo";
+
+    private BenchmarkData() {
+    }
+
+    static EmployeeDTO dto(int i) {
+        return EmployeeDTO.builder()
+                .firstName(FIRST_NAMES[i % FIRST_NAMES.length])
+                .middleName(FIRST_NAMES[(i / 7) % FIRST_NAMES.length])
+                .lastNameFather(LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length])
+                .lastNameMother(LAST_NAMES[(i / 3) % LAST_NAMES.length])
+                .age(20 + i % 45)
+                .gender(i % 2 == 0 ? "F" : "M")
+                .birthDate(LocalDate.of(1960 + i % 45, 1 + i % 12, 1 + i % 28))
+                .position(POSITIONS[i % POSITIONS.length])
+                .active(i % 10 != 0)
+                .build();
+    }
+
+    static List<EmployeeDTO> dtos(int offset, int count) {
+        List<EmployeeDTO> dtos = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            EmployeeDTO dto = dto(i);
+            dto.setId((long) i + 1);
+            dto.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    static Employee entity(int i) {
+        EmployeeDTO dto = dto(i);
+        return Employee.builder()
+                .id((long) i + 1)
+                .firstName(dto.getFirstName())
+                .middleName(dto.getMiddleName())
+                .lastNameFather(dto.getLastNameFather())
+                .lastNameMother(dto.getLastNameMother())
+                .age(dto.getAge())
+                .gender(dto.getGender())
+                .birthDate(dto.getBirthDate())
+                .position(dto.getPosition())
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .active(dto.isActive())
+                .build();
+    }
+}
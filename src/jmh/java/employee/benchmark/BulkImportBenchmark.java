@@ -0,0 +1,82 @@
+package employee.benchmark;
+
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.service.EmployeeImportService;
+import com.employee.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for the list-bound createMultipleEmployees path against the streaming NDJSON import.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkImportBenchmark {
+
+    private static final int BATCH = 5000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeImportService employeeImportService;
+    private List<EmployeeDTO> dtos;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkApp.start("bulk");
+        employeeService = context.getBean(EmployeeService.class);
+        employeeImportService = context.getBean(EmployeeImportService.class);
+        dtos = BenchmarkData.dtos(0, BATCH);
+        dtos.forEach(dto -> dto.setId(null));
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (EmployeeDTO dto : dtos) {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        ndjson = out.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<EmployeeDTO> createMultipleEmployees() {
+        return employeeService.createMultipleEmployees(dtos);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BulkImportResultDTO importNdjson() {
+        return employeeImportService.importEmployees(new ByteArrayInputStream(ndjson),
+                MediaType.parseMediaType("application/x-ndjson"));
+    }
+}
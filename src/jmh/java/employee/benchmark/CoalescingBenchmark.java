@@ -0,0 +1,116 @@
+package employee.benchmark;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 clients requesting the same employee or the same name search over HTTP, with and without
+ * coalescing. The cache and admission limits are off, so every request that is not coalesced
+ * reaches the database. Database loads per second are reported as the databaseLoads counter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class CoalescingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    @Param({"id", "search"})
+    private String kind;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+    private Counter loads;
+
+    // Each thread reports its share of the loads the application counted while the iteration was being
+    // measured, so the shares add up to the database loads per second. The counter is sampled on every
+    // call, since the other threads keep loading outside this thread's measured window.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Loads {
+        public double databaseLoads;
+        private double first = Double.NaN;
+        private double last;
+
+        void sample(double count, Control control) {
+            if (control.startMeasurement && !control.stopMeasurement) {
+                if (Double.isNaN(first)) {
+                    first = count;
+                }
+                last = count;
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void start() {
+            databaseLoads = 0;
+            first = Double.NaN;
+        }
+
+        @TearDown(Level.Iteration)
+        public void end(BenchmarkParams params) {
+            databaseLoads = Double.isNaN(first) ? 0 : (last - first) / params.getThreads();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.startServer("coalescing", "spring.cache.type=none",
+                "employee.admission.enabled=false", "employee.coalescing.enabled=" + coalescing);
+        BenchmarkApp.seed(context, ROWS);
+        client = HttpClient.newHttpClient();
+        String base = "http://localhost:" + BenchmarkApp.port(context) + "/employees";
+        request = HttpRequest.newBuilder(URI.create("id".equals(kind)
+                ? base + "/" + (ROWS / 2)
+                : base + "/search?name=" + URLEncoder.encode(BenchmarkData.SEARCH_TERM, StandardCharsets.UTF_8))).build();
+        loads = context.getBean(MeterRegistry.class).counter("employee.coalescing.requests",
+                "kind", kind, "result", "loaded");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int hotKey(Loads share, Control control) throws IOException, InterruptedException {
+        int length = client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+        share.sample(loads.count(), control);
+        return length;
+    }
+}
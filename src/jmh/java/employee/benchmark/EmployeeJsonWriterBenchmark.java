@@ -0,0 +1,76 @@
+package employee.benchmark;
+
+import com.employee.mapper.EmployeeJsonWriter;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.model.Employee;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-employee cost of writing a JSON array response: entity to DTO to Jackson databind, against
+ * EmployeeJsonWriter on a streaming generator. Read gc.alloc.rate.norm as bytes per employee.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeJsonWriterBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private final EmployeeJsonWriter employeeJsonWriter = new EmployeeJsonWriter();
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        employees = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            employees.add(BenchmarkData.entity(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void dtoDatabind() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(),
+                employees.stream().map(employeeMapper::toDTO).toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void directWriter() throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (Employee employee : employees) {
+                employeeJsonWriter.write(generator, employee);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
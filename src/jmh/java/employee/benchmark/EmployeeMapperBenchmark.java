@@ -0,0 +1,52 @@
+package employee.benchmark;
+
+import com.employee.dto.EmployeeDTO;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmployeeMapperBenchmark {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private Employee employee;
+    private EmployeeDTO dto;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkData.entity(42);
+        dto = BenchmarkData.dtos(7, 1).get(0);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDTO() {
+        return employeeMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public Employee toEntity() {
+        return employeeMapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public Employee updateEntityFromDTO() {
+        employeeMapper.updateEntityFromDTO(dto, employee);
+        return employee;
+    }
+}
@@ -0,0 +1,83 @@
+package employee.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Resolving 1,000 random ids over HTTP: one POST /employees/_mget against 1,000 GET /employees/{id}
+ * calls on a keep-alive connection. The cache is off so both paths read the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiGetBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int IDS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest multiGet;
+    private HttpRequest[] singleGets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.startServer("multiget", "spring.cache.type=none");
+        BenchmarkApp.seed(context, ROWS);
+        client = HttpClient.newHttpClient();
+        String base = "http://localhost:" + BenchmarkApp.port(context) + "/employees";
+        long[] ids = new Random(42).longs(IDS, 1, ROWS + 1).toArray();
+        multiGet = HttpRequest.newBuilder(URI.create(base + "/_mget"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(IntStream.range(0, IDS)
+                        .mapToObj(i -> Long.toString(ids[i]))
+                        .collect(Collectors.joining(",", "[", "]"))))
+                .build();
+        singleGets = new HttpRequest[IDS];
+        for (int i = 0; i < IDS; i++) {
+            singleGets[i] = HttpRequest.newBuilder(URI.create(base + "/" + ids[i])).GET().build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String multiGet() throws IOException, InterruptedException {
+        return client.send(multiGet, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public void individualGets(Blackhole blackhole) throws IOException, InterruptedException {
+        for (HttpRequest request : singleGets) {
+            blackhole.consume(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package employee.benchmark;
+
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-table read as a whole response: managed entities copied into a DTO list, entities streamed
+ * to the generator, and a fields= projection of four columns. gc.alloc.rate.norm is heap per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final List<EmployeeField> FIELDS = EmployeeField.parse(
+            List.of("id", "firstName", "lastNameFather", "position"));
+
+    @Param({"1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("projection" + rows, "spring.cache.type=none");
+        BenchmarkApp.seed(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entityList() throws IOException {
+        List<EmployeeDTO> employees = employeeService.getAllEmployees();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), employees);
+    }
+
+    @Benchmark
+    public void entityStream() throws IOException {
+        try (JsonGenerator generator = generator()) {
+            generator.writeStartArray();
+            employeeService.writeAllEmployees(generator);
+            generator.writeEndArray();
+        }
+    }
+
+    @Benchmark
+    public void projection() throws IOException {
+        try (JsonGenerator generator = generator()) {
+            generator.writeStartArray();
+            employeeService.writeAllEmployees(FIELDS, generator);
+            generator.writeEndArray();
+        }
+    }
+
+    private JsonGenerator generator() throws IOException {
+        return objectMapper.createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8);
+    }
+}
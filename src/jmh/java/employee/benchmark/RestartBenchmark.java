@@ -0,0 +1,85 @@
+package employee.benchmark;
+
+import com.employee.service.EmployeeDumpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time until the application is ready to serve the same employees again after a restart: reopening
+ * the H2 files of the durable profile, or restoring a binary dump into a fresh in-memory database.
+ * Both include the startup work that scans employees (filter snapshot, and for the restore the
+ * statistics rebuild). An empty in-memory start is the baseline the two are measured against.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class RestartBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    private Path dataDir;
+    private Path dumpFile;
+    private ConfigurableApplicationContext context;
+    private int start;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("employee-restart");
+        dumpFile = dataDir.resolve("employees.dump");
+        try (ConfigurableApplicationContext seeded = BenchmarkApp.startDurable(dataDir,
+                "employee.dump.file=" + dumpFile)) {
+            BenchmarkApp.seed(seeded, rows);
+            seeded.getBean(EmployeeDumpService.class).dump();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public Object durable() {
+        context = BenchmarkApp.startDurable(dataDir);
+        return context;
+    }
+
+    @Benchmark
+    public Object restore() {
+        context = BenchmarkApp.start("restart" + start++, "employee.dump.file=" + dumpFile);
+        return context;
+    }
+
+    @Benchmark
+    public Object empty() {
+        context = BenchmarkApp.start("restart" + start++);
+        return context;
+    }
+}
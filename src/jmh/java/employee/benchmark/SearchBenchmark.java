@@ -0,0 +1,73 @@
+package employee.benchmark;
+
+import com.employee.dto.EmployeeDTO;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Database-side name search against the original findAll() plus in-memory filter loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private EmployeeMapper employeeMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("search" + rows, "spring.cache.type=none");
+        BenchmarkApp.seed(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeMapper = context.getBean(EmployeeMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> databaseSearch() {
+        return employeeService.searchEmployeesByName(BenchmarkData.SEARCH_TERM);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> findAllAndFilter() {
+        String name = BenchmarkData.SEARCH_TERM;
+        return employeeRepository.findAll()
+                .stream()
+                .filter(e -> (e.getFirstName() + " " + e.getLastNameFather()).toLowerCase().contains(name.toLowerCase()))
+                .map(employeeMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+}
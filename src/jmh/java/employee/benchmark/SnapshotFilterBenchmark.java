@@ -0,0 +1,114 @@
+package employee.benchmark;
+
+import com.employee.dto.EmployeeFilterDTO;
+import com.employee.snapshot.EmployeeSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same analytics filter answered by the in-memory snapshot and by the equivalent JPQL query,
+ * both returning the count and the first page of matching ids. The upper age bound changes on every
+ * call, since H2 hands back the previous result for an identical query on an unchanged table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SnapshotFilterBenchmark {
+
+    private static final List<String> POSITIONS = List.of("Developer", "Analyst");
+    private static final LocalDate BORN_FROM = LocalDate.of(1975, 1, 1);
+    private static final LocalDate BORN_TO = LocalDate.of(1994, 12, 31);
+    private static final int LIMIT = 1000;
+
+    private static final String WHERE = " from Employee e where e.position in :positions and e.gender = 'F'"
+            + " and e.active = true and e.age between 30 and :maxAge and e.birthDate between :bornFrom and :bornTo";
+    private static final int MAX_AGES = 20;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeSnapshot snapshot;
+    private EntityManagerFactory entityManagerFactory;
+    private EmployeeFilterDTO filter;
+    private int call;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start("snapshot" + rows, "spring.cache.type=none");
+        BenchmarkApp.seed(context, rows);
+        snapshot = context.getBean(EmployeeSnapshot.class);
+        snapshot.refresh();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        filter = EmployeeFilterDTO.builder()
+                .positions(POSITIONS)
+                .genders(List.of("F"))
+                .active(true)
+                .minAge(30)
+                .maxAge(49)
+                .bornFrom(BORN_FROM)
+                .bornTo(BORN_TO)
+                .limit(LIMIT)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object snapshot() {
+        filter.setMaxAge(nextMaxAge());
+        return snapshot.filter(filter);
+    }
+
+    @Benchmark
+    public Object jpa() {
+        int maxAge = nextMaxAge();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Long count = entityManager.createQuery("select count(e)" + WHERE, Long.class)
+                    .setParameter("positions", POSITIONS)
+                    .setParameter("bornFrom", BORN_FROM)
+                    .setParameter("bornTo", BORN_TO)
+                    .setParameter("maxAge", maxAge)
+                    .getSingleResult();
+            List<Long> ids = entityManager.createQuery("select e.id" + WHERE + " order by e.id", Long.class)
+                    .setParameter("positions", POSITIONS)
+                    .setParameter("bornFrom", BORN_FROM)
+                    .setParameter("bornTo", BORN_TO)
+                    .setParameter("maxAge", maxAge)
+                    .setMaxResults(LIMIT)
+                    .getResultList();
+            return List.of(count, ids);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private int nextMaxAge() {
+        return 40 + call++ % MAX_AGES;
+    }
+}
@@ -0,0 +1,16 @@
+package com.employee.admission;
+
+/**
+ * Kinds of requests that get their own concurrency limit, so a slow kind sheds its own load
+ * instead of queueing everything behind it.
+ */
+public enum AdmissionClass {
+    /** Point reads and in-memory queries; the default for unannotated handlers. */
+    READ,
+    /** Reads that scan or return many rows. */
+    SCAN,
+    /** Anything that writes employees. */
+    WRITE,
+    /** Long-lived streams and file downloads, whose duration says nothing about the database. */
+    UNLIMITED
+}
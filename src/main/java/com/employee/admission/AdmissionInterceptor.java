@@ -0,0 +1,93 @@
+package com.employee.admission;
+
+import com.employee.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits a request only while its class is below its {@link GradientLimit}, and answers 503 with
+ * Retry-After otherwise. A rejection costs no database work, so under a latency spike the requests
+ * that are admitted still finish in time instead of everything waiting for connections together.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = AdmissionInterceptor.class.getName() + ".PERMIT";
+
+    private final Map<AdmissionClass, GradientLimit> limits;
+    private final Map<AdmissionClass, Counter> rejected = new EnumMap<>(AdmissionClass.class);
+    private final Duration retryAfter;
+
+    public AdmissionInterceptor(Map<AdmissionClass, GradientLimit> limits, Duration retryAfter,
+                                MeterRegistry meterRegistry) {
+        this.limits = limits;
+        this.retryAfter = retryAfter;
+        limits.forEach((admissionClass, limit) -> {
+            String tag = admissionClass.name().toLowerCase();
+            Gauge.builder("employee.admission.limit", limit, GradientLimit::getLimit)
+                    .description("Concurrent requests admitted")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("employee.admission.inflight", limit, GradientLimit::getInflight)
+                    .description("Admitted requests in progress")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejected.put(admissionClass, Counter.builder("employee.admission.rejected")
+                    .description("Requests answered 503 because their class was at its limit")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches are not admitted again. A streaming response gives its permit back when the
+        // handler returns (afterConcurrentHandlingStarted), so the stream itself holds none.
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        AdmissionClass admissionClass = admission == null ? AdmissionClass.READ : admission.value();
+        GradientLimit limit = limits.get(admissionClass);
+        if (limit == null) {
+            return true;
+        }
+        if (!limit.tryAcquire()) {
+            rejected.get(admissionClass).increment();
+            throw new ServiceUnavailableException("Too many " + admissionClass.name().toLowerCase()
+                    + " requests in progress, retry later", retryAfter);
+        }
+        request.setAttribute(PERMIT, new Permit(limit, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.limit().release(System.nanoTime() - permit.started());
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.limit().release();
+        }
+    }
+
+    private record Permit(GradientLimit limit, long started) {
+    }
+}
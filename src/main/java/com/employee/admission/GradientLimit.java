@@ -0,0 +1,87 @@
+package com.employee.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit driven by latency, after the gradient limit of Netflix's concurrency-limits.
+ * A long average of request latency is the baseline. While the short average stays within
+ * {@link #TOLERANCE} of it, the limit grows by about its square root per adjustment. When the short
+ * average rises above that, the limit shrinks in proportion, by at most half. The baseline slowly
+ * follows sustained latency, so a database that stays slower ends up with a limit it can serve,
+ * not the minimum.
+ */
+public class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    // Averages in nanoseconds, guarded by this.
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // For requests whose duration is not a latency sample, e.g. ones that went asynchronous.
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public void release(long latencyNanos) {
+        update(latencyNanos, inflight.getAndDecrement());
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long latency, int inflightBefore) {
+        if (longRtt == 0) {
+            shortRtt = latency;
+            longRtt = latency;
+            return;
+        }
+        shortRtt += (latency - shortRtt) / SHORT_WINDOW;
+        longRtt += (latency - longRtt) / LONG_WINDOW;
+        // Once a spike is over, bring the baseline down within a few adjustments.
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        // With most of the limit unused, latency says nothing about whether a higher limit would help.
+        if (gradient == 1.0 && inflightBefore < limit / 2) {
+            return;
+        }
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
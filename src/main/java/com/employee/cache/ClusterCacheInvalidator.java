@@ -0,0 +1,201 @@
+package com.employee.cache;
+
+import com.employee.config.CachingConfig;
+import com.employee.model.Employee;
+import com.employee.model.TableVersion;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.EmployeeTombstoneRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.routing.ReplicaRouter;
+import com.employee.service.EmployeeReadCoalescer;
+import com.employee.service.EmployeesChangedEvent;
+import com.employee.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evicts what other instances sharing the database have written from this instance's caches: the
+ * second-level cache, cached finder queries and the employees cache. Every write stamps its change
+ * sequence on the rows it touches, or on their tombstones, so the shared tables themselves serve as the
+ * invalidation channel. Each poll lists the employees written above the sequence seen last and evicts
+ * them, skipping sequences this instance wrote, whose caches were updated as they committed. A read is
+ * therefore stale for at most about one {@code employee.cache.invalidation.interval} after another
+ * instance commits. A load that read a row just before such a commit can put it back after the eviction,
+ * so every eviction is repeated on the next poll.
+ */
+@Slf4j
+@Component
+public class ClusterCacheInvalidator implements SmartInitializingSingleton {
+
+    private final Set<LocalChange> localChanges = ConcurrentHashMap.newKeySet();
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final TableVersionRepository tableVersionRepository;
+    private final EmployeeReadCoalescer employeeReadCoalescer;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readTransaction;
+    private final ConcurrentHashMap<String, Counter> evictions = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxIds;
+    private long[] seen;
+    private List<Long> evictAgain = List.of();
+
+    public ClusterCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheManager cacheManager,
+                                   EmployeeRepository employeeRepository,
+                                   EmployeeTombstoneRepository tombstoneRepository,
+                                   TableVersionRepository tableVersionRepository,
+                                   EmployeeReadCoalescer employeeReadCoalescer, ShardRouter shardRouter,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${employee.cache.invalidation.enabled:true}") boolean enabled,
+                                   @Value("${employee.cache.invalidation.max-ids:10000}") int maxIds) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.employeeRepository = employeeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.tableVersionRepository = tableVersionRepository;
+        this.employeeReadCoalescer = employeeReadCoalescer;
+        this.shardRouter = shardRouter;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxIds = maxIds;
+    }
+
+    // Starts from the sequences current before any request can fill a cache.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        seen = new long[shardRouter.getShardCount()];
+        for (int shard = 0; shard < seen.length; shard++) {
+            seen[shard] = ShardRouter.onShard(shard, this::currentSeq);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        if (enabled) {
+            localChanges.add(new LocalChange(ShardRouter.currentShard(), event.changeSeq()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.cache.invalidation.interval:PT1S}")
+    public synchronized void poll() {
+        if (!enabled) {
+            return;
+        }
+        List<List<Long>> changed = shardRouter.onEveryShard(this::changedOn);
+        List<Long> evict = new ArrayList<>();
+        boolean all = false;
+        for (List<Long> ids : changed) {
+            if (ids == null) {
+                all = true;
+            } else {
+                evict.addAll(ids);
+            }
+        }
+        if (all) {
+            evictAll();
+        } else if (!evict.isEmpty()) {
+            evict(evict, "remote");
+        }
+        if (!evictAgain.isEmpty()) {
+            evict(evictAgain, "repeated");
+        }
+        evictAgain = evict;
+    }
+
+    // The employees another instance wrote on this shard since the last poll; null when there are too
+    // many to evict one by one, or when the deletions among them have been compacted away.
+    private List<Long> changedOn(int shard) {
+        long since = seen[shard];
+        List<Long> ids = ReplicaRouter.onPrimary(() -> readTransaction.execute(status -> {
+            long upTo = currentSeq();
+            if (upTo <= since) {
+                return List.<Long>of();
+            }
+            long horizon = tableVersionRepository.findVersion(TableVersion.EMPLOYEE_CHANGES_HORIZON).orElse(0L);
+            List<Tuple> written = employeeRepository.findIdsChangedBetween(since, upTo, Limit.of(maxIds + 1));
+            List<Tuple> deleted = tombstoneRepository.findIdsDeletedBetween(since, upTo, Limit.of(maxIds + 1));
+            seen[shard] = upTo;
+            if (since < horizon || written.size() + deleted.size() > maxIds) {
+                return null;
+            }
+            List<Long> remote = new ArrayList<>();
+            for (List<Tuple> rows : List.of(written, deleted)) {
+                for (Tuple row : rows) {
+                    if (!localChanges.contains(new LocalChange(shard, row.get("changeSeq", Long.class)))) {
+                        remote.add(row.get("id", Long.class));
+                    }
+                }
+            }
+            return remote;
+        }));
+        long upTo = seen[shard];
+        localChanges.removeIf(change -> change.shard() == shard && change.seq() <= upTo);
+        return ids;
+    }
+
+    private long currentSeq() {
+        return tableVersionRepository.findVersion(TableVersion.EMPLOYEES).orElse(0L);
+    }
+
+    // Loads already running may have read the old rows, so they must neither be joined nor cached.
+    // Hibernate keys entries by tenant while sharded, so there a whole region is dropped instead.
+    private void evict(List<Long> ids, String reason) {
+        employeeReadCoalescer.onRemoteChanges();
+        jakarta.persistence.Cache secondLevel = entityManagerFactory.getCache();
+        if (shardRouter.isEnabled()) {
+            secondLevel.evict(Employee.class);
+        } else {
+            ids.forEach(id -> secondLevel.evict(Employee.class, id));
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(Employee.QUERY_CACHE_REGION);
+        Cache employees = cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE);
+        ids.forEach(employees::evict);
+        evictions(reason).increment(ids.size());
+    }
+
+    private void evictAll() {
+        log.info("Too many employees changed elsewhere to evict one by one; clearing the employee caches");
+        employeeReadCoalescer.onRemoteChanges();
+        entityManagerFactory.getCache().evict(Employee.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(Employee.QUERY_CACHE_REGION);
+        cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE).clear();
+        evictions("all").increment();
+    }
+
+    private Counter evictions(String reason) {
+        return evictions.computeIfAbsent(reason, tag -> Counter.builder("employee.cache.invalidations")
+                .description("Employees evicted from this instance's caches after another instance wrote them")
+                .tag("reason", tag)
+                .register(meterRegistry));
+    }
+
+    private record LocalChange(int shard, long seq) {
+    }
+}
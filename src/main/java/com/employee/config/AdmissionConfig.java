@@ -0,0 +1,55 @@
+package com.employee.config;
+
+import com.employee.admission.AdmissionClass;
+import com.employee.admission.AdmissionInterceptor;
+import com.employee.admission.GradientLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@RequiredArgsConstructor
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${employee.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.admission.retry-after:PT1S}")
+    private Duration retryAfter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Map<AdmissionClass, GradientLimit> limits = new EnumMap<>(AdmissionClass.class);
+        for (AdmissionClass admissionClass : AdmissionClass.values()) {
+            if (admissionClass != AdmissionClass.UNLIMITED) {
+                limits.put(admissionClass, limit(admissionClass.name().toLowerCase()));
+            }
+        }
+        // Before the metrics interceptor, so rejected requests cost as little as possible.
+        registry.addInterceptor(new AdmissionInterceptor(limits, retryAfter, meterRegistry))
+                .addPathPatterns("/employees/**")
+                .order(-1);
+    }
+
+    private GradientLimit limit(String admissionClass) {
+        String prefix = "employee.admission." + admissionClass + ".";
+        return new GradientLimit(
+                environment.getRequiredProperty(prefix + "initial-limit", Integer.class),
+                environment.getRequiredProperty(prefix + "min-limit", Integer.class),
+                environment.getRequiredProperty(prefix + "max-limit", Integer.class));
+    }
+}
@@ -0,0 +1,13 @@
+package com.employee.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Runs outside the transaction interceptor, so @CachePut only publishes committed results.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CachingConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+}
@@ -0,0 +1,28 @@
+package com.employee.config;
+
+import com.employee.service.EmployeeDumpService;
+import com.employee.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+// Loads employee.dump.file into an empty database before the web server starts. A dump keeps the ids it
+// was taken with, which need not belong to the shard it would be loaded into, so sharded instances skip it.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeDumpRestorer implements SmartInitializingSingleton {
+
+    private final EmployeeDumpService employeeDumpService;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (shardRouter.isEnabled()) {
+            log.info("Employees are sharded; not restoring a dump");
+            return;
+        }
+        employeeDumpService.restoreIfEmpty();
+    }
+}
@@ -0,0 +1,134 @@
+package com.employee.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Sends the hot read requests of {@code EmployeeController} through the local web server before the
+ * instance reports ready. Spring Boot only moves readiness to ACCEPTING_TRAFFIC once every
+ * {@link ApplicationRunner} has returned, so the first routed requests find Tomcat, the MVC and
+ * Jackson paths, the Hibernate queries and the JIT already warm. Only reads are sent, and a failed
+ * request is logged, never fatal.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeWarmup implements ApplicationRunner {
+
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final int SAMPLE_IDS = 20;
+
+    private final ApplicationContext applicationContext;
+    private final ObjectMapper objectMapper;
+
+    @Value("${employee.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employee.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${employee.warmup.max-duration:PT30S}")
+    private Duration maxDuration;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !(applicationContext instanceof WebServerApplicationContext webContext)) {
+            return;
+        }
+        String base = "http://localhost:" + webContext.getWebServer().getPort() + "/employees";
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        List<Long> ids = sampleIds(client, base);
+        String idList = join(ids);
+
+        int sent = 0;
+        int failed = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted(); i++) {
+            for (HttpRequest request : List.of(
+                    get(base + "/" + (ids.isEmpty() ? 0L : ids.get(i % ids.size())), "application/json"),
+                    get(base + "?size=50", "application/json"),
+                    get(base + "?size=50", SMILE),
+                    get(base + "?ids=" + idList, "application/json"),
+                    get(base + "/search?name=a", "application/json"),
+                    get(base + "/search?name=a&fields=id,firstName,lastNameFather", "application/json"),
+                    get(base + "/filter?active=true&minAge=30&maxAge=49&limit=100", "application/json"),
+                    get(base + "/stats", "application/json"))) {
+                sent++;
+                if (!send(client, request)) {
+                    failed++;
+                }
+            }
+        }
+        log.info("Warmup sent {} requests ({} failed) in {} ms", sent, failed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // IDs of real employees, so the by-id and multi-get paths run their queries and not only the 404 path.
+    private List<Long> sampleIds(HttpClient client, String base) {
+        List<Long> ids = new ArrayList<>();
+        try {
+            HttpResponse<byte[]> response = client.send(get(base + "?size=" + SAMPLE_IDS, "application/json"),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                for (JsonNode node : objectMapper.readTree(response.body()).path("content")) {
+                    ids.add(node.path("id").asLong());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Warmup could not sample employee ids: {}", e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ids;
+    }
+
+    private boolean send(HttpClient client, HttpRequest request) {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            // 304s, 404s (also for features turned off, as on a sharded instance) and admission 503s
+            // still exercise the request path.
+            return status < 500 || status == 503;
+        } catch (IOException e) {
+            log.debug("Warmup request {} failed: {}", request.uri(), e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static HttpRequest get(String uri, String accept) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Accept", accept)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+    }
+
+    private static String join(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return "0";
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        ids.forEach(id -> joiner.add(id.toString()));
+        return joiner.toString();
+    }
+}
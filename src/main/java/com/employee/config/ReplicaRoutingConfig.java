@@ -0,0 +1,49 @@
+package com.employee.config;
+
+import com.employee.routing.ReadYourWritesInterceptor;
+import com.employee.routing.ReplicaRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Replaces the auto-configured data source with a routing one when employee.datasource.replica-urls is set.
+@Configuration
+@RequiredArgsConstructor
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaRouter replicaRouter;
+
+    @Value("${employee.datasource.read-your-writes:PT5S}")
+    private Duration readYourWrites;
+
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaRouter> replicaRouter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                ReplicaRouter router = replicaRouter.getObject();
+                return router.isEnabled() ? router.route(dataSource) : bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!replicaRouter.isEnabled() || readYourWrites.isZero()) {
+            return;
+        }
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWrites))
+                .addPathPatterns("/employees/**");
+    }
+}
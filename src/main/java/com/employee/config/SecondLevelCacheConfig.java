@@ -0,0 +1,69 @@
+package com.employee.config;
+
+import com.employee.model.Employee;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate's second-level cache for Employee and the cacheable EmployeeRepository finders, held in
+// Caffeine through JCache, when employee.cache.second-level.enabled is set. Other instances' writes are
+// evicted by ClusterCacheInvalidator.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${employee.cache.second-level.enabled:false}") boolean enabled,
+            @Value("${employee.cache.second-level.max-entries:100000}") long maxEntries,
+            @Value("${employee.cache.second-level.time-to-live:PT10M}") Duration timeToLive,
+            @Value("${employee.datasource.replica-urls:}") List<String> replicaUrls) {
+        return properties -> {
+            // Hibernate picks up the JCache region factory on its own once it is on the classpath.
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (!enabled) {
+                return;
+            }
+            // A read from a lagging replica would put rows older than this instance's writes back in.
+            if (replicaUrls.stream().anyMatch(url -> !url.isBlank())) {
+                throw new IllegalStateException(
+                        "employee.cache.second-level.enabled cannot be combined with employee.datasource.replica-urls");
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(maxEntries, timeToLive));
+        };
+    }
+
+    // A cache manager of this application context's own, which Hibernate closes with the session factory.
+    // The update timestamps region holds one entry per table and must never lose one, so it is unbounded.
+    private static CacheManager cacheManager(long maxEntries, Duration timeToLive) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("employee-second-level-" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+        for (String region : List.of(Employee.CACHE_REGION, Employee.QUERY_CACHE_REGION)) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+}
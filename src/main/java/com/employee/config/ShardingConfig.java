@@ -0,0 +1,77 @@
+package com.employee.config;
+
+import com.employee.mapper.EmployeeJsonWriter;
+import com.employee.service.EmployeeService;
+import com.employee.service.EmployeeStatsService;
+import com.employee.sharding.ShardRouter;
+import com.employee.sharding.ShardedEmployeeService;
+import com.employee.sharding.ShardedEmployeeStatsService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.SequenceMismatchStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Partitions employees across spring.datasource and employee.datasource.shard-urls when the latter is set.
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    static BeanPostProcessor shardRoutingPostProcessor(ObjectProvider<ShardRouter> shardRouter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                ShardRouter router = shardRouter.getObject();
+                return router.isEnabled() ? router.route(dataSource) : bean;
+            }
+        };
+    }
+
+    // Each shard's sequence steps over the other shards' id blocks, so its increment is a multiple of the
+    // entity's allocation size rather than equal to it.
+    @Bean
+    static HibernatePropertiesCustomizer shardTenantCustomizer(ObjectProvider<ShardRouter> shardRouter) {
+        return properties -> {
+            ShardRouter router = shardRouter.getObject();
+            if (router.isEnabled()) {
+                properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, router.tenantResolver());
+                properties.put(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, SequenceMismatchStrategy.NONE);
+            }
+        };
+    }
+
+    // Wraps the shard-local services, instead of adding conditional beans: whether employees are sharded is
+    // only known at run time, after an AOT build has fixed the bean definitions. Being unordered, this runs
+    // after the auto-proxy creator, so each shard's call still gets its transaction.
+    @Bean
+    static BeanPostProcessor shardedServicePostProcessor(ObjectProvider<ShardRouter> shardRouter,
+                                                         ObjectProvider<EmployeeJsonWriter> employeeJsonWriter,
+                                                         @Value("${employee.pagination.max-page-size:500}") int maxPageSize,
+                                                         @Value("${employee.ids.max-per-request:10000}") int maxIdsPerRequest) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof EmployeeService) && !(bean instanceof EmployeeStatsService)) {
+                    return bean;
+                }
+                ShardRouter router = shardRouter.getObject();
+                if (!router.isEnabled()) {
+                    return bean;
+                }
+                if (bean instanceof EmployeeService employeeService) {
+                    return new ShardedEmployeeService(employeeService, router, employeeJsonWriter.getObject(),
+                            maxPageSize, maxIdsPerRequest);
+                }
+                return new ShardedEmployeeStatsService((EmployeeStatsService) bean, router);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.employee.config;
+
+import com.employee.model.TableVersion;
+import com.employee.repository.TableVersionRepository;
+import com.employee.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Creates the counter rows before the web server starts, so writers only ever need an UPDATE. Every
+// shard keeps its own counters.
+@Component
+@RequiredArgsConstructor
+public class TableVersionInitializer implements SmartInitializingSingleton {
+
+    private final TableVersionRepository tableVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            ShardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                for (String tableName : List.of(TableVersion.EMPLOYEES, TableVersion.EMPLOYEE_CHANGES_HORIZON)) {
+                    if (!tableVersionRepository.existsById(tableName)) {
+                        tableVersionRepository.save(new TableVersion(tableName, 0L));
+                    }
+                }
+                return null;
+            }));
+        }
+    }
+}
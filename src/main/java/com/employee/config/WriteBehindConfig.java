@@ -0,0 +1,24 @@
+package com.employee.config;
+
+import com.employee.writebehind.EmployeeWriteBehindBuffer;
+import com.employee.writebehind.WriteBehindInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WriteBehindConfig implements WebMvcConfigurer {
+
+    private final EmployeeWriteBehindBuffer employeeWriteBehindBuffer;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!employeeWriteBehindBuffer.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(new WriteBehindInterceptor(employeeWriteBehindBuffer))
+                .addPathPatterns("/employees/**");
+    }
+}
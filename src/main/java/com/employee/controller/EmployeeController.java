@@ -1,7 +1,41 @@
 package com.employee.controller;
 
+import com.employee.admission.Admission;
+import com.employee.admission.AdmissionClass;
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.BulkMutationResultDTO;
+import com.employee.dto.EmployeeBulkUpdateDTO;
+import com.employee.dto.EmployeeChangeDTO;
+import com.employee.dto.EmployeeChangesDTO;
 import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeDumpDTO;
+import com.employee.dto.EmployeeExportDTO;
+import com.employee.dto.EmployeeExportRequestDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeeFilterDTO;
+import com.employee.dto.EmployeeFilterResultDTO;
+import com.employee.dto.EmployeeLookupDTO;
+import com.employee.dto.EmployeePageDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.dto.EmployeeStatsCheckDTO;
+import com.employee.dto.EmployeeStatsDTO;
+import com.employee.exception.PreconditionFailedException;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.snapshot.EmployeeSnapshot;
+import com.employee.service.EmployeeChangePublisher;
+import com.employee.service.EmployeeChangeService;
+import com.employee.service.EmployeeDumpService;
+import com.employee.service.EmployeeExportService;
+import com.employee.service.EmployeeImportService;
+import com.employee.service.EmployeeReadCoalescer;
 import com.employee.service.EmployeeService;
+import com.employee.service.EmployeeStatsService;
+import com.employee.writebehind.EmployeeWriteBehindBuffer;
+import com.employee.writebehind.WriteBehind;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,19 +43,48 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @RestController
@@ -30,15 +93,136 @@ import java.util.List;
 @Tag(name = "Employee API", description = "Operations related to Employee entity")
 public class EmployeeController {
 
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+    public static final String SMILE = "application/x-jackson-smile";
+    public static final String CBOR = MediaType.APPLICATION_CBOR_VALUE;
+
+    private static final String FIELDS_DESCRIPTION = "Comma-separated EmployeeDTO fields to return, e.g. id,firstName,lastNameFather; all fields when omitted";
+
+    private static final SerializedString NEWLINE = new SerializedString("\n");
+    private static final MediaType SMILE_TYPE = MediaType.parseMediaType(SMILE);
+    private static final MediaType NDJSON_TYPE = MediaType.parseMediaType(NDJSON);
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeChangeService employeeChangeService;
+    private final EmployeeChangePublisher employeeChangePublisher;
+    private final EmployeeStatsService employeeStatsService;
+    private final EmployeeSnapshot employeeSnapshot;
+    private final EmployeeDumpService employeeDumpService;
+    private final EmployeeExportService employeeExportService;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final EmployeeReadCoalescer employeeReadCoalescer;
+    private final EmployeeWriteBehindBuffer employeeWriteBehindBuffer;
 
     @Operation(summary = "Get all employees", description = "Retrieves a list of all employees")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of employees",
-            content = @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = EmployeeDTO.class)))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of employees",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested",
+                    content = @Content)
+    })
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    @Admission(AdmissionClass.SCAN)
+    public void getAllEmployees(
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields,
+            WebRequest request, HttpServletResponse response) throws IOException {
+        List<EmployeeField> selected = selectedFields(fields);
+        MediaType contentType = negotiate(request);
+        if (request.checkNotModified(collectionETag(contentType))) {
+            return;
+        }
+        write(response, contentType, generator -> {
+            generator.writeStartArray();
+            writeAllEmployees(selected, generator);
+            generator.writeEndArray();
+        });
+    }
+
+    @Operation(summary = "Get a page of employees", description = "Retrieves employees ordered by ID, starting after the given cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of employees",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeePageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid page size",
+                    content = @Content)
+    })
+    @GetMapping(params = "size")
+    @Admission(AdmissionClass.SCAN)
+    public ResponseEntity<EmployeePageDTO> getEmployeesPage(
+            @Parameter(description = "ID of the last employee of the previous page") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Maximum number of employees to return") @RequestParam int size,
+            WebRequest request) {
+        MediaType contentType = negotiate(request);
+        String etag = collectionETag(contentType);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(contentType).body(employeeService.getEmployeesPage(cursor, size));
+    }
+
+    @Operation(summary = "Get employees by ID", description = "Retrieves many employees in one call, in request order; missing IDs are reported inline")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One entry per requested ID",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeLookupDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs requested",
+                    content = @Content)
+    })
+    @GetMapping(params = "ids")
+    @Admission(AdmissionClass.SCAN)
+    public ResponseEntity<List<EmployeeLookupDTO>> getEmployeesByIds(
+            @Parameter(description = "Comma-separated IDs of the employees to retrieve") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
+    @Operation(summary = "Get employees by ID", description = "Same as GET /employees?ids=..., for ID lists too long for a URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One entry per requested ID",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeLookupDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs requested",
+                    content = @Content)
+    })
+    @PostMapping("/_mget")
+    @Admission(AdmissionClass.SCAN)
+    public ResponseEntity<List<EmployeeLookupDTO>> multiGetEmployees(
+            @Parameter(description = "IDs of the employees to retrieve") @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
+    @Operation(summary = "Stream all employees", description = "Streams every employee as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully streamed the employees",
+                    content = @Content(mediaType = NDJSON,
+                            schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested",
+                    content = @Content)
+    })
+    @GetMapping(produces = NDJSON)
+    @Admission(AdmissionClass.SCAN)
+    public void streamAllEmployees(
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields,
+            WebRequest request, HttpServletResponse response) throws IOException {
+        List<EmployeeField> selected = selectedFields(fields);
+        varyOnEncoding(request);
+        if (request.checkNotModified(collectionETag(NDJSON_TYPE))) {
+            return;
+        }
+        write(response, NDJSON_TYPE, generator -> {
+            generator.setRootValueSeparator(NEWLINE);
+            writeAllEmployees(selected, generator);
+        });
     }
 
     @Operation(summary = "Get an employee by ID", description = "Retrieves an employee by their ID")
@@ -46,13 +230,23 @@ public class EmployeeController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the employee",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Employee unchanged since the given ETag",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Employee not found",
                     content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeDTO> getEmployeeById(
-            @Parameter(description = "ID of the employee to retrieve") @PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+            @Parameter(description = "ID of the employee to retrieve") @PathVariable Long id,
+            WebRequest request) {
+        MediaType contentType = negotiate(request);
+        // Revalidation only reads the version column; the entity is neither loaded nor serialized.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(etag(employeeService.getEmployeeVersion(id), contentType))) {
+            return null;
+        }
+        EmployeeDTO employee = employeeService.getEmployeeById(id);
+        return ResponseEntity.ok().eTag(etag(employee.getVersion(), contentType)).contentType(contentType).body(employee);
     }
 
     @Operation(summary = "Create multiple employees", description = "Creates a list of new employees")
@@ -64,28 +258,78 @@ public class EmployeeController {
                     content = @Content)
     })
     @PostMapping
+    @Admission(AdmissionClass.WRITE)
     public ResponseEntity<List<EmployeeDTO>> createEmployees(
             @Parameter(description = "List of employees to create")
             @Valid @RequestBody List<EmployeeDTO> dtos) {
         return ResponseEntity.ok(employeeService.createMultipleEmployees(dtos));
     }
 
-    @Operation(summary = "Update an employee", description = "Updates an existing employee by their ID")
+    @Operation(summary = "Bulk import employees", description = "Imports employees from a streamed NDJSON or CSV body in chunked transactions")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; failed records and chunks are listed in the result",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unreadable request body",
+                    content = @Content)
+    })
+    @PostMapping(value = "/bulk", consumes = {NDJSON, CSV})
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<BulkImportResultDTO> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "One employee per NDJSON line, or CSV with a header row of EmployeeDTO field names")
+            InputStream body) {
+        return ResponseEntity.ok(employeeImportService.importEmployees(body, contentType));
+    }
+
+    @Operation(summary = "Update an employee", description = "Updates an existing employee by their ID; with write-behind enabled, updates without If-Match or sync=true are accepted and written shortly after")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully updated the employee",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Update accepted for write-behind; the body shows the employee as it will be, with its current version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeDTO.class))),
             @ApiResponse(responseCode = "404", description = "Employee not found",
                     content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Employee was modified by a concurrent update",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag",
                     content = @Content)
     })
     @PutMapping("/{id}")
+    @Admission(AdmissionClass.WRITE)
+    @WriteBehind
     public ResponseEntity<EmployeeDTO> updateEmployee(
             @Parameter(description = "ID of the employee to update") @PathVariable Long id,
+            @Parameter(description = "ETag the update is based on; the update is rejected if the employee has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Write the update before responding, after any pending update of the employee")
+            @RequestParam(defaultValue = "false") boolean sync,
             @Parameter(description = "Updated employee information")
-            @Valid @RequestBody EmployeeDTO dto) {
-        return ResponseEntity.ok(employeeService.updateEmployee(id, dto));
+            @Valid @RequestBody EmployeeDTO dto,
+            WebRequest request) {
+        MediaType contentType = listEncoding(request);
+        if (employeeWriteBehindBuffer.isEnabled()) {
+            if (ifMatch == null && !sync) {
+                return ResponseEntity.accepted().body(employeeWriteBehindBuffer.update(id, dto));
+            }
+            // The ETag and the precondition refer to the employee with its pending update applied.
+            employeeWriteBehindBuffer.flush(id);
+        }
+        EmployeeDTO employee = employeeService.updateEmployee(id, dto, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(employee.getVersion(), contentType)).contentType(contentType).body(employee);
+    }
+
+    @Operation(summary = "Flush pending updates", description = "Writes every update accepted for write-behind before this request")
+    @ApiResponse(responseCode = "204", description = "The pending updates were written")
+    @PostMapping("/_flush")
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<Void> flushUpdates() {
+        employeeWriteBehindBuffer.flush();
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Delete an employee", description = "Deletes an employee by their ID")
@@ -95,19 +339,514 @@ public class EmployeeController {
                     content = @Content)
     })
     @DeleteMapping("/{id}")
+    @Admission(AdmissionClass.WRITE)
     public ResponseEntity<Void> deleteEmployee(
             @Parameter(description = "ID of the employee to delete") @PathVariable Long id) {
         employeeService.deleteEmployee(id);
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Search employees by name", description = "Retrieves a list of employees whose names match the search criteria")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved the matching employees",
+    @Operation(summary = "Update many employees", description = "Sets the given fields on every employee selected by ID list or position, in one statement per ID chunk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of employees updated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkMutationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing selection or no field to set",
+                    content = @Content)
+    })
+    @PatchMapping
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<BulkMutationResultDTO> updateEmployees(
+            @Parameter(description = "Employees to update and the fields to set")
+            @RequestBody EmployeeBulkUpdateDTO request) {
+        return ResponseEntity.ok(employeeService.updateEmployees(request));
+    }
+
+    @Operation(summary = "Deactivate many employees", description = "Sets active=false on every employee selected by ID list or position")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of employees deactivated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkMutationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing selection",
+                    content = @Content)
+    })
+    @PostMapping("/_deactivate")
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<BulkMutationResultDTO> deactivateEmployees(
+            @Parameter(description = "Employees to deactivate")
+            @RequestBody EmployeeSelectionDTO where) {
+        return ResponseEntity.ok(employeeService.deactivateEmployees(where));
+    }
+
+    @Operation(summary = "Delete many employees", description = "Deletes the employees with the given IDs; IDs that do not exist are ignored")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of employees deleted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkMutationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs",
+                    content = @Content)
+    })
+    @PostMapping("/_delete")
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<BulkMutationResultDTO> deleteEmployees(
+            @Parameter(description = "IDs of the employees to delete") @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(employeeService.deleteEmployees(ids));
+    }
+
+    @Operation(summary = "Get employee changes", description = "Returns the creates, updates and deletes after the given cursor, in change order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Next batch of changes and the cursor to continue from",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeChangesDTO.class))),
+            @ApiResponse(responseCode = "404", description = "The change feed is turned off",
+                    content = @Content),
+            @ApiResponse(responseCode = "410", description = "Deletions after the cursor were compacted; reload all employees",
+                    content = @Content)
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeChangesDTO> getChanges(
+            @Parameter(description = "Change sequence to continue from; 0 for a full initial sync") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Employee ID to continue from within that sequence") @RequestParam(required = false) Long after,
+            @Parameter(description = "Sequence an initial sync started at, as returned while it is under way") @RequestParam(required = false) Long syncSeq,
+            @Parameter(description = "Maximum number of changes to return") @RequestParam(defaultValue = "1000") int limit) {
+        requireEnabled(employeeChangeService.isEnabled(), "The change feed");
+        return ResponseEntity.ok(employeeChangeService.getChanges(since, after, syncSeq, limit));
+    }
+
+    @Operation(summary = "Stream employee changes", description = "Server-Sent Events stream of changes after the given cursor, kept open for new changes")
+    @ApiResponse(responseCode = "200", description = "UPSERT and DELETE events carrying EmployeeChangeDTO; an \"expired\" event ends the stream if the cursor was compacted",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = EmployeeChangeDTO.class)))
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Admission(AdmissionClass.UNLIMITED)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Change sequence to continue from") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Employee ID to continue from within that sequence") @RequestParam(required = false) Long after) {
+        requireEnabled(employeeChangeService.isEnabled(), "The change feed");
+        return employeeChangePublisher.subscribe(since, after);
+    }
+
+    @Operation(summary = "Filter employees", description = "Counts and lists the IDs of employees matching every given criterion, from an in-memory snapshot that follows each committed write")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of matches and the first matching IDs",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeFilterResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or criterion",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Filtering is turned off",
+                    content = @Content)
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<EmployeeFilterResultDTO> filterEmployees(
+            @Parameter(description = "Comma-separated positions, any of which matches") @RequestParam(required = false) List<String> position,
+            @Parameter(description = "Comma-separated genders, any of which matches") @RequestParam(required = false) List<String> gender,
+            @Parameter(description = "Active flag") @RequestParam(required = false) Boolean active,
+            @Parameter(description = "Minimum age, inclusive") @RequestParam(required = false) Integer minAge,
+            @Parameter(description = "Maximum age, inclusive") @RequestParam(required = false) Integer maxAge,
+            @Parameter(description = "Earliest birth date, inclusive (yyyy-MM-dd)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            @Parameter(description = "Latest birth date, inclusive (yyyy-MM-dd)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            @Parameter(description = "Maximum number of IDs to return; 0 for the count only") @RequestParam(defaultValue = "1000") int limit) {
+        requireEnabled(employeeSnapshot.isEnabled(), "Filtering");
+        return ResponseEntity.ok(employeeSnapshot.filter(EmployeeFilterDTO.builder()
+                .positions(position)
+                .genders(gender)
+                .active(active)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .bornFrom(bornFrom)
+                .bornTo(bornTo)
+                .limit(limit)
+                .build()));
+    }
+
+    @Operation(summary = "Get employee statistics", description = "Headcount by position, gender and active flag, and the age distribution, from counters kept up to date by every write")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the statistics",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeStatsDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid age bucket width",
+                    content = @Content)
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<EmployeeStatsDTO> getStats(
+            @Parameter(description = "Width in years of each age bucket") @RequestParam(defaultValue = "10") int ageBucket,
+            WebRequest request) {
+        MediaType contentType = negotiate(request);
+        String etag = collectionETag(contentType);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(contentType).body(employeeStatsService.getStats(ageBucket));
+    }
+
+    @Operation(summary = "Check employee statistics", description = "Recounts the employees table and compares it with the maintained counters")
+    @ApiResponse(responseCode = "200", description = "Whether the counters match, and every combination that does not",
             content = @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = EmployeeDTO.class)))
+                    schema = @Schema(implementation = EmployeeStatsCheckDTO.class)))
+    @GetMapping("/stats/_check")
+    @Admission(AdmissionClass.SCAN)
+    public ResponseEntity<EmployeeStatsCheckDTO> checkStats() {
+        return ResponseEntity.ok(employeeStatsService.checkStats());
+    }
+
+    @Operation(summary = "Rebuild employee statistics", description = "Replaces the maintained counters with a full recount of the employees table")
+    @ApiResponse(responseCode = "200", description = "The differences found before the rebuild",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EmployeeStatsCheckDTO.class)))
+    @PostMapping("/stats/_rebuild")
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<EmployeeStatsCheckDTO> rebuildStats() {
+        return ResponseEntity.ok(employeeStatsService.rebuildStats());
+    }
+
+    @Operation(summary = "Dump employees", description = "Writes all employees to the configured dump file, which an empty instance restores at startup")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The dump was written",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeDumpDTO.class))),
+            @ApiResponse(responseCode = "400", description = "No dump file is configured",
+                    content = @Content)
+    })
+    @PostMapping("/_dump")
+    @Admission(AdmissionClass.WRITE)
+    public ResponseEntity<EmployeeDumpDTO> dumpEmployees() {
+        return ResponseEntity.ok(employeeDumpService.dump());
+    }
+
+    @Operation(summary = "Start an employee export", description = "Queues a CSV or NDJSON extract of all employees, optionally gzipped, written to a file in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Export queued; poll the Location for its status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeExportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing format or unknown field requested",
+                    content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many exports queued; retry after the Retry-After seconds",
+                    content = @Content)
+    })
+    @PostMapping("/exports")
+    public ResponseEntity<EmployeeExportDTO> startExport(@RequestBody EmployeeExportRequestDTO request) {
+        EmployeeExportDTO export = employeeExportService.startExport(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/employees/exports/" + export.getId()))
+                .body(export);
+    }
+
+    @Operation(summary = "Get an employee export", description = "Retrieves the status and progress of an export")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the export",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeExportDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Export not found or expired",
+                    content = @Content)
+    })
+    @GetMapping("/exports/{id}")
+    public ResponseEntity<EmployeeExportDTO> getExport(@PathVariable String id) {
+        return ResponseEntity.ok(employeeExportService.getExport(id));
+    }
+
+    @Operation(summary = "Download an employee export", description = "Serves the file of a completed export; a single byte range may be requested to resume a download")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The whole file", content = @Content),
+            @ApiResponse(responseCode = "206", description = "The requested byte range", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Export not found or expired", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Export not completed", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Range outside the file", content = @Content)
+    })
+    @GetMapping("/exports/{id}/file")
+    @Admission(AdmissionClass.UNLIMITED)
+    public void downloadExport(@PathVariable String id,
+                               @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        EmployeeExportDTO export = employeeExportService.getExport(id);
+        Path file = employeeExportService.getExportFile(id);
+        MediaType contentType = export.isGzip() ? MediaType.parseMediaType("application/gzip")
+                : export.getFormat() == EmployeeExportDTO.Format.CSV ? MediaType.parseMediaType(CSV)
+                : MediaType.parseMediaType(NDJSON);
+        response.setContentType(contentType.toString());
+        // A finished export never changes. The strong ETag also keeps Tomcat from compressing it.
+        response.setHeader(HttpHeaders.ETAG, "\"" + export.getId() + "\"");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString());
+        sendFile(file, range, request, response);
+    }
+
+    @Operation(summary = "Search employees by name", description = "Retrieves a list of employees whose names match the search criteria")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the matching employees",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the given ETag",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested",
+                    content = @Content)
+    })
     @GetMapping("/search")
-    public ResponseEntity<List<EmployeeDTO>> searchByName(
-            @Parameter(description = "Name to search for") @RequestParam String name) {
-        return ResponseEntity.ok(employeeService.searchEmployeesByName(name));
+    @Admission(AdmissionClass.SCAN)
+    public void searchByName(
+            @Parameter(description = "Name to search for") @RequestParam String name,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields,
+            WebRequest request,
+            HttpServletResponse response) throws IOException {
+        List<EmployeeField> selected = selectedFields(fields);
+        MediaType contentType = negotiate(request);
+        if (request.checkNotModified(collectionETag(contentType))) {
+            return;
+        }
+        String term = employeeReadCoalescer.searchTerm(name);
+        GeneratorWriter search = generator -> {
+            generator.writeStartArray();
+            if (selected == null) {
+                employeeService.writeEmployeesByName(term, generator);
+            } else {
+                employeeService.writeEmployeesByName(term, selected, generator);
+            }
+            generator.writeEndArray();
+        };
+        SharedBody shared = employeeReadCoalescer.load("search", new SearchKey(term, selected, contentType),
+                () -> render(contentType, search));
+        if (shared == null) {
+            write(response, contentType, search);
+            return;
+        }
+        // The shared body may predate the ETag checked above, so it carries the version it was read at.
+        response.setHeader(HttpHeaders.ETAG, shared.etag());
+        response.setContentType(contentType.toString());
+        response.setContentLength(shared.body().length);
+        response.getOutputStream().write(shared.body());
+    }
+
+    // Without fields= the full entity is read; with it only the selected columns are queried.
+    private static List<EmployeeField> selectedFields(List<String> fields) {
+        return fields == null ? null : EmployeeField.parse(fields);
+    }
+
+    private void writeAllEmployees(List<EmployeeField> fields, JsonGenerator generator) throws IOException {
+        if (fields == null) {
+            employeeService.writeAllEmployees(generator);
+        } else {
+            employeeService.writeAllEmployees(fields, generator);
+        }
+    }
+
+    // Features that follow a single database can be turned off, as they must be while employees are sharded.
+    private static void requireEnabled(boolean enabled, String feature) {
+        if (!enabled) {
+            throw new ResourceNotFoundException(feature + " is turned off");
+        }
+    }
+
+    // Each encoding is its own representation, so the validator names it: "5" for JSON, "5-smile" for Smile.
+    private static String etag(Long version, MediaType contentType) {
+        return "\"" + version + encodingSuffix(contentType) + "\"";
+    }
+
+    // Every collection read shares the table counter: any write to employees changes it.
+    // It is read before the rows, so a write racing the response can only make the ETag stale, never too new.
+    // Weak, since the body may be gzipped or not; Tomcat never gzips a response with a strong ETag.
+    private String collectionETag(MediaType contentType) {
+        return "W/\"employees-" + employeeService.getEmployeesVersion() + encodingSuffix(contentType) + "\"";
+    }
+
+    // JSON keeps the unsuffixed tags clients already hold.
+    private static String encodingSuffix(MediaType contentType) {
+        if (SMILE_TYPE.equalsTypeAndSubtype(contentType)) {
+            return "-smile";
+        }
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(contentType)) {
+            return "-cbor";
+        }
+        if (NDJSON_TYPE.equalsTypeAndSubtype(contentType)) {
+            return "-ndjson";
+        }
+        return "";
+    }
+
+    // Picks the encoding of a read and tells caches the response varies by it.
+    private static MediaType negotiate(WebRequest request) {
+        varyOnEncoding(request);
+        return listEncoding(request);
+    }
+
+    // Set before any 304, which must carry the same Vary as the full response.
+    private static void varyOnEncoding(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+    }
+
+    // If-Match takes one strong ETag from this API, in any encoding; "*" only requires that the employee exists.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            int suffix = value.indexOf('-');
+            try {
+                return Long.valueOf(suffix < 0 ? value : value.substring(0, suffix));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current ETag");
+    }
+
+    // Large reads are written straight from the entities to the response on the request thread,
+    // instead of building a List<EmployeeDTO> for the message converter.
+    private void write(HttpServletResponse response, MediaType contentType, GeneratorWriter writer) throws IOException {
+        response.setContentType(contentType.toString());
+        try (JsonGenerator generator = mapperFor(contentType).createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            writer.write(generator);
+        }
+    }
+
+    // Renders a response body once for every caller sharing it, or returns null when it grows past
+    // employee.coalescing.max-shared-bytes.
+    private SharedBody render(MediaType contentType, GeneratorWriter writer) {
+        String etag = collectionETag(contentType);
+        BoundedBuffer buffer = new BoundedBuffer(employeeReadCoalescer.maxSharedBytes());
+        try (JsonGenerator generator = mapperFor(contentType).createGenerator(buffer, JsonEncoding.UTF8)) {
+            writer.write(generator);
+        } catch (BoundedBuffer.Full e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SharedBody(etag, buffer.toByteArray());
+    }
+
+    // Reads pick their encoding from Accept here, and the converter-written ones pin it as their
+    // Content-Type, so the body always matches the ETag. Anything other than a preferred Smile or CBOR gets JSON.
+    private static MediaType listEncoding(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (type.isCompatibleWith(SMILE_TYPE)) {
+                return SMILE_TYPE;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private ObjectMapper mapperFor(MediaType contentType) {
+        if (SMILE_TYPE.equalsTypeAndSubtype(contentType)) {
+            return smileConverter.getObjectMapper();
+        }
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(contentType)) {
+            return cborConverter.getObjectMapper();
+        }
+        return objectMapper;
+    }
+
+    // Tomcat's sendfile hands the file to the kernel once the handler returns; elsewhere (and under
+    // MockMvc) FileChannel.transferTo copies it to the response. Multiple ranges are answered with the
+    // whole file, which the Range specification allows.
+    private static void sendFile(Path file, String range, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            List<HttpRange> ranges = parseRanges(range);
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            response.setContentLengthLong(end - start + 1);
+            if (length > 0 && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", start);
+                request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start; position <= end; ) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    // An unparseable Range header is ignored, as if it had not been sent.
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    @FunctionalInterface
+    private interface GeneratorWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private record SearchKey(String term, List<EmployeeField> fields, MediaType contentType) {
+    }
+
+    private record SharedBody(String etag, byte[] body) {
+    }
+
+    private static final class BoundedBuffer extends ByteArrayOutputStream {
+        private final long limit;
+
+        private BoundedBuffer(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            if (count + length > limit) {
+                throw new Full();
+            }
+            super.write(bytes, offset, length);
+        }
+
+        @Override
+        public void write(int b) {
+            if (count + 1 > limit) {
+                throw new Full();
+            }
+            super.write(b);
+        }
+
+        private static final class Full extends RuntimeException {
+            private Full() {
+                super(null, null, false, false);
+            }
+        }
     }
 }
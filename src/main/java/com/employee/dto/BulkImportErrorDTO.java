@@ -0,0 +1,19 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportErrorDTO {
+    // Null when the error comes from parsing a single record rather than persisting a chunk.
+    private Integer chunk;
+    // 1-based record numbers, not counting a CSV header row.
+    private long firstRecord;
+    private long lastRecord;
+    private String message;
+}
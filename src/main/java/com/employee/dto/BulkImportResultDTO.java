@@ -0,0 +1,18 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private long imported;
+    private long failed;
+    private List<BulkImportErrorDTO> errors;
+}
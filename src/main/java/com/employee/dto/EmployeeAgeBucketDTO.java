@@ -0,0 +1,17 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeAgeBucketDTO {
+    // Both null for employees without an age.
+    private Integer minAge;
+    private Integer maxAge;
+    private long count;
+}
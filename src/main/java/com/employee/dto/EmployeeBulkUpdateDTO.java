@@ -0,0 +1,15 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkUpdateDTO {
+    private EmployeeSelectionDTO where;
+    private EmployeePatchDTO set;
+}
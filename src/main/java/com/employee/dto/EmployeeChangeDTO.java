@@ -0,0 +1,20 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeDTO {
+    public enum Type { UPSERT, DELETE }
+
+    private long seq;
+    private Long id;
+    private Type type;
+    // Current state for UPSERT; null for DELETE.
+    private EmployeeDTO employee;
+}
@@ -0,0 +1,23 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangesDTO {
+    private List<EmployeeChangeDTO> changes;
+    // Cursor for the next call: pass both back as "since" and "after".
+    private long since;
+    private Long after;
+    // Set while an initial sync from since=0 is under way; pass it back as "syncSeq" too.
+    private Long syncSeq;
+    // True when more changes were already available than fit in this batch.
+    private boolean more;
+}
@@ -24,4 +24,5 @@ public class EmployeeDTO {
     private String position;
     private LocalDateTime createdAt;
     private boolean active;
+    private Long version;
 }
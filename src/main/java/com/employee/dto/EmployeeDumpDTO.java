@@ -0,0 +1,18 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDumpDTO {
+    private String file;
+    private long employees;
+    private long bytes;
+    private long seq;
+    private long millis;
+}
@@ -0,0 +1,33 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeExportDTO {
+    public enum Format { CSV, NDJSON }
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String id;
+    private Format format;
+    private boolean gzip;
+    private List<String> fields;
+    private Status status;
+    // Rows written so far, and the final count once completed.
+    private long rows;
+    // Size of the finished file; 0 until completed.
+    private long bytes;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
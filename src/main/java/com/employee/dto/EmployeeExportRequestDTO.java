@@ -0,0 +1,19 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeExportRequestDTO {
+    private EmployeeExportDTO.Format format;
+    private boolean gzip;
+    // EmployeeDTO field names; all fields when null.
+    private List<String> fields;
+}
@@ -0,0 +1,64 @@
+package com.employee.dto;
+
+import com.employee.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link EmployeeDTO} that a client can select with {@code fields=}. The property name is both
+ * the JSON field name and the {@link com.employee.model.Employee} attribute; declaration order is DTO order.
+ */
+public enum EmployeeField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    MIDDLE_NAME("middleName"),
+    LAST_NAME_FATHER("lastNameFather"),
+    LAST_NAME_MOTHER("lastNameMother"),
+    AGE("age"),
+    GENDER("gender"),
+    BIRTH_DATE("birthDate"),
+    POSITION("position"),
+    CREATED_AT("createdAt"),
+    ACTIVE("active"),
+    VERSION("version");
+
+    private static final Map<String, EmployeeField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toMap(EmployeeField::getProperty, Function.identity()));
+
+    private final String property;
+
+    EmployeeField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Resolves requested property names to fields in DTO order, ignoring duplicates and blanks.
+     */
+    public static List<EmployeeField> parse(Collection<String> properties) {
+        EnumSet<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+        for (String property : properties) {
+            String name = property.trim();
+            if (!name.isEmpty()) {
+                EmployeeField field = BY_PROPERTY.get(name);
+                if (field == null) {
+                    throw new BadRequestException("Unknown employee field: " + name);
+                }
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new BadRequestException("At least one employee field must be selected");
+        }
+        return List.copyOf(fields);
+    }
+}
@@ -0,0 +1,26 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Every criterion is optional; ranges are inclusive and never match employees without a value.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilterDTO {
+    private List<String> positions;
+    private List<String> genders;
+    private Boolean active;
+    private Integer minAge;
+    private Integer maxAge;
+    private LocalDate bornFrom;
+    private LocalDate bornTo;
+    // Maximum number of ids to return; the count covers every match.
+    private int limit;
+}
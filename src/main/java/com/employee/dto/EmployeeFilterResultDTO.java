@@ -0,0 +1,20 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilterResultDTO {
+    private long count;
+    // Matching ids in ascending order, up to the requested limit; fetch the employees with ?ids= or _mget.
+    private List<Long> ids;
+    // Change sequence the snapshot had applied when the filter ran.
+    private long seq;
+}
@@ -0,0 +1,17 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookupDTO {
+    private Long id;
+    private boolean found;
+    // Null when no employee exists with this id.
+    private EmployeeDTO employee;
+}
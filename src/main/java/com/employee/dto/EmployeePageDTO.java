@@ -0,0 +1,18 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDTO {
+    private List<EmployeeDTO> content;
+    // Id to pass as "cursor" for the next page; null when this is the last page.
+    private Long nextCursor;
+}
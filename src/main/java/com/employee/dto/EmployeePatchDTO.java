@@ -0,0 +1,24 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Fields a bulk update can set. Null means "leave unchanged". Name fields are excluded because
+ * they are per person and feed the stored search name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatchDTO {
+    private Integer age;
+    private String gender;
+    private LocalDate birthDate;
+    private String position;
+    private Boolean active;
+}
@@ -0,0 +1,18 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Target of a bulk mutation: exactly one of ids or position.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSelectionDTO {
+    private List<Long> ids;
+    private String position;
+}
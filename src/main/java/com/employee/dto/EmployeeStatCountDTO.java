@@ -0,0 +1,16 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatCountDTO {
+    // Null counts the employees without a value.
+    private String value;
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatMismatchDTO {
+    private String position;
+    private String gender;
+    private boolean active;
+    private Integer age;
+    // Counted from the employees table.
+    private long expected;
+    // Maintained in employee_stats.
+    private long actual;
+}
@@ -0,0 +1,23 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatsDTO {
+    private long total;
+    private long active;
+    private long inactive;
+    private List<EmployeeStatCountDTO> byPosition;
+    private List<EmployeeStatCountDTO> byGender;
+    private List<EmployeeAgeBucketDTO> ageBuckets;
+    // Over employees with an age; null when none has one.
+    private Double averageAge;
+}
@@ -0,0 +1,229 @@
+package com.employee.mapper;
+
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes an {@link Employee} straight to a {@link JsonGenerator} in exactly the form Jackson produces
+ * for {@link com.employee.dto.EmployeeDTO}, without building the DTO. Field names are pre-encoded and
+ * dates are formatted into a reusable buffer, so only the generator's own buffers are allocated.
+ */
+@Component
+public class EmployeeJsonWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString MIDDLE_NAME = new SerializedString("middleName");
+    private static final SerializedString LAST_NAME_FATHER = new SerializedString("lastNameFather");
+    private static final SerializedString LAST_NAME_MOTHER = new SerializedString("lastNameMother");
+    private static final SerializedString AGE = new SerializedString("age");
+    private static final SerializedString GENDER = new SerializedString("gender");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializedString POSITION = new SerializedString("position");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString ACTIVE = new SerializedString("active");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    // Longest ISO_LOCAL_DATE_TIME for a four-digit year: yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    public void write(JsonGenerator generator, Employee employee) throws IOException {
+        generator.writeStartObject();
+        writeLong(generator, ID, employee.getId());
+        writeString(generator, FIRST_NAME, employee.getFirstName());
+        writeString(generator, MIDDLE_NAME, employee.getMiddleName());
+        writeString(generator, LAST_NAME_FATHER, employee.getLastNameFather());
+        writeString(generator, LAST_NAME_MOTHER, employee.getLastNameMother());
+        generator.writeFieldName(AGE);
+        if (employee.getAge() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(employee.getAge());
+        }
+        writeString(generator, GENDER, employee.getGender());
+        writeDate(generator, BIRTH_DATE, employee.getBirthDate());
+        writeString(generator, POSITION, employee.getPosition());
+        writeDateTime(generator, CREATED_AT, employee.getCreatedAt());
+        generator.writeFieldName(ACTIVE);
+        generator.writeBoolean(employee.isActive());
+        writeLong(generator, VERSION, employee.getVersion());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a projected row holding one value per field, in the same form as the full object restricted to those fields.
+     */
+    public void write(JsonGenerator generator, Tuple row, List<EmployeeField> fields) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < fields.size(); i++) {
+            writeField(generator, fields.get(i), row.get(i));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes an already built DTO restricted to the given fields; with every field this is the full object.
+     */
+    public void write(JsonGenerator generator, EmployeeDTO employee, List<EmployeeField> fields) throws IOException {
+        generator.writeStartObject();
+        for (EmployeeField field : fields) {
+            writeField(generator, field, switch (field) {
+                case ID -> employee.getId();
+                case FIRST_NAME -> employee.getFirstName();
+                case MIDDLE_NAME -> employee.getMiddleName();
+                case LAST_NAME_FATHER -> employee.getLastNameFather();
+                case LAST_NAME_MOTHER -> employee.getLastNameMother();
+                case AGE -> employee.getAge();
+                case GENDER -> employee.getGender();
+                case BIRTH_DATE -> employee.getBirthDate();
+                case POSITION -> employee.getPosition();
+                case CREATED_AT -> employee.getCreatedAt();
+                case ACTIVE -> employee.isActive();
+                case VERSION -> employee.getVersion();
+            });
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeField(JsonGenerator generator, EmployeeField field, Object value) throws IOException {
+        switch (field) {
+            case ID, VERSION -> writeLong(generator, name(field), (Long) value);
+            case AGE -> {
+                generator.writeFieldName(AGE);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber((Integer) value);
+                }
+            }
+            case BIRTH_DATE -> writeDate(generator, BIRTH_DATE, (LocalDate) value);
+            case CREATED_AT -> writeDateTime(generator, CREATED_AT, (LocalDateTime) value);
+            case ACTIVE -> {
+                generator.writeFieldName(ACTIVE);
+                generator.writeBoolean((Boolean) value);
+            }
+            default -> writeString(generator, name(field), (String) value);
+        }
+    }
+
+    private static SerializedString name(EmployeeField field) {
+        return switch (field) {
+            case ID -> ID;
+            case FIRST_NAME -> FIRST_NAME;
+            case MIDDLE_NAME -> MIDDLE_NAME;
+            case LAST_NAME_FATHER -> LAST_NAME_FATHER;
+            case LAST_NAME_MOTHER -> LAST_NAME_MOTHER;
+            case AGE -> AGE;
+            case GENDER -> GENDER;
+            case BIRTH_DATE -> BIRTH_DATE;
+            case POSITION -> POSITION;
+            case CREATED_AT -> CREATED_AT;
+            case ACTIVE -> ACTIVE;
+            case VERSION -> VERSION;
+        };
+    }
+
+    private static void writeLong(JsonGenerator generator, SerializedString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, SerializedString name, LocalDate date) throws IOException {
+        generator.writeFieldName(name);
+        if (date == null) {
+            generator.writeNull();
+        } else if (!isFourDigitYear(date.getYear())) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+        } else {
+            char[] buffer = DATE_BUFFER.get();
+            generator.writeString(buffer, 0, formatDate(buffer, date));
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator generator, SerializedString name, LocalDateTime dateTime) throws IOException {
+        generator.writeFieldName(name);
+        if (dateTime == null) {
+            generator.writeNull();
+        } else if (!isFourDigitYear(dateTime.getYear())) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+        } else {
+            char[] buffer = DATE_BUFFER.get();
+            int length = formatDate(buffer, dateTime.toLocalDate());
+            buffer[length++] = 'T';
+            length = formatTime(buffer, length, dateTime.toLocalTime());
+            generator.writeString(buffer, 0, length);
+        }
+    }
+
+    private static boolean isFourDigitYear(int year) {
+        return year >= 0 && year <= 9999;
+    }
+
+    private static int formatDate(char[] buffer, LocalDate date) {
+        int year = date.getYear();
+        buffer[0] = digit(year / 1000);
+        buffer[1] = digit(year / 100 % 10);
+        buffer[2] = digit(year / 10 % 10);
+        buffer[3] = digit(year % 10);
+        buffer[4] = '-';
+        twoDigits(buffer, 5, date.getMonthValue());
+        buffer[7] = '-';
+        twoDigits(buffer, 8, date.getDayOfMonth());
+        return 10;
+    }
+
+    // Same output as DateTimeFormatter.ISO_LOCAL_TIME: seconds always, fraction trimmed of trailing zeros.
+    private static int formatTime(char[] buffer, int offset, LocalTime time) {
+        twoDigits(buffer, offset, time.getHour());
+        buffer[offset + 2] = ':';
+        twoDigits(buffer, offset + 3, time.getMinute());
+        buffer[offset + 5] = ':';
+        twoDigits(buffer, offset + 6, time.getSecond());
+        int length = offset + 8;
+        int nano = time.getNano();
+        if (nano != 0) {
+            buffer[length++] = '.';
+            int divisor = 100_000_000;
+            while (nano != 0) {
+                buffer[length++] = digit(nano / divisor);
+                nano %= divisor;
+                divisor /= 10;
+            }
+        }
+        return length;
+    }
+
+    private static void twoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = digit(value / 10);
+        buffer[offset + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
@@ -1,9 +1,14 @@
 package com.employee.mapper;
 
 import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeePatchDTO;
 import com.employee.model.Employee;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Component
 public class EmployeeMapper {
 
@@ -20,6 +25,7 @@ public class EmployeeMapper {
                 .position(employee.getPosition())
                 .createdAt(employee.getCreatedAt())
                 .active(employee.isActive())
+                .version(employee.getVersion())
                 .build();
     }
 
@@ -48,4 +54,35 @@ public class EmployeeMapper {
         if (dto.getPosition() != null) employee.setPosition(dto.getPosition());
         employee.setActive(dto.isActive());
     }
+
+    // The update that has the effect of applying earlier and then later with updateEntityFromDTO: later
+    // non-null fields win and active always comes from later. Id, createdAt and version are kept from
+    // earlier, so merging an update over a current employee gives the employee it will become.
+    public EmployeeDTO mergeUpdates(EmployeeDTO earlier, EmployeeDTO later) {
+        return EmployeeDTO.builder()
+                .id(earlier.getId())
+                .firstName(later.getFirstName() != null ? later.getFirstName() : earlier.getFirstName())
+                .middleName(later.getMiddleName() != null ? later.getMiddleName() : earlier.getMiddleName())
+                .lastNameFather(later.getLastNameFather() != null ? later.getLastNameFather() : earlier.getLastNameFather())
+                .lastNameMother(later.getLastNameMother() != null ? later.getLastNameMother() : earlier.getLastNameMother())
+                .age(later.getAge() != null ? later.getAge() : earlier.getAge())
+                .gender(later.getGender() != null ? later.getGender() : earlier.getGender())
+                .birthDate(later.getBirthDate() != null ? later.getBirthDate() : earlier.getBirthDate())
+                .position(later.getPosition() != null ? later.getPosition() : earlier.getPosition())
+                .createdAt(earlier.getCreatedAt())
+                .active(later.isActive())
+                .version(earlier.getVersion())
+                .build();
+    }
+
+    // Column values for a bulk update; fields left null in the patch are not touched.
+    public Map<EmployeeField, Object> toChanges(EmployeePatchDTO patch) {
+        Map<EmployeeField, Object> changes = new EnumMap<>(EmployeeField.class);
+        if (patch.getAge() != null) changes.put(EmployeeField.AGE, patch.getAge());
+        if (patch.getGender() != null) changes.put(EmployeeField.GENDER, patch.getGender());
+        if (patch.getBirthDate() != null) changes.put(EmployeeField.BIRTH_DATE, patch.getBirthDate());
+        if (patch.getPosition() != null) changes.put(EmployeeField.POSITION, patch.getPosition());
+        if (patch.getActive() != null) changes.put(EmployeeField.ACTIVE, patch.getActive());
+        return changes;
+    }
 }
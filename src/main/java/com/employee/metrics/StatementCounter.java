@@ -0,0 +1,51 @@
+package com.employee.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so each request can report
+ * how many round trips it caused. A batched insert is prepared once per batch and counts once.
+ * Work a request hands to other threads counts toward it when wrapped with {@link #propagate}, as
+ * scatter-gather across shards is. Statements run by background work, such as the timed write-behind
+ * flush, exports and scheduled jobs, belong to no request and are not counted.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = ThreadLocal.withInitial(AtomicInteger::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;
+    }
+
+    // A fresh counter, so tasks still running for an earlier request on this thread cannot add to it.
+    public static void reset() {
+        COUNT.set(new AtomicInteger());
+    }
+
+    public static int current() {
+        return COUNT.get().get();
+    }
+
+    public static void clear() {
+        COUNT.remove();
+    }
+
+    // Wraps the action so that, on whichever thread it runs, its statements count toward this thread's.
+    public static <T> Supplier<T> propagate(Supplier<T> action) {
+        AtomicInteger count = COUNT.get();
+        return () -> {
+            AtomicInteger previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                return action.get();
+            } finally {
+                COUNT.set(previous);
+            }
+        };
+    }
+}
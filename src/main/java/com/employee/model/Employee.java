@@ -1,27 +1,59 @@
 package com.employee.model;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_change_seq", columnList = "change_seq, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Only used when employee.cache.second-level.enabled turns Hibernate's second-level cache on.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
 public class Employee {
+    public static final String SEARCH_SEPARATOR = "|";
+    public static final int TRIGRAM_LENGTH = 3;
+    public static final int ID_ALLOCATION_SIZE = 500;
+    public static final String CACHE_REGION = "employees";
+    public static final String QUERY_CACHE_REGION = "employee-queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String firstName;
     private String middleName;
@@ -33,4 +65,74 @@ public class Employee {
     private String position;
     private LocalDateTime createdAt;
     private boolean active;
-}
\ No newline at end of file
+
+    // Bumped on every update; drives optimistic locking and the resource ETag.
+    @Version
+    private Long version;
+
+    // Change-feed sequence of the last write to this row, shared by every row written in the same transaction.
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    // Lowercased name fields, kept in sync on write so search can run in the database. Search is a contains
+    // match, a LIKE '%term%' that a B-tree index on this column cannot seek, so the column itself is not indexed.
+    @Column(name = "search_name", length = 1024)
+    private String searchName;
+
+    // Every three-character window of searchName that does not span the separator. A search for a term of
+    // three or more characters seeks idx_employee_search_trigrams for the employees holding all of its
+    // probed trigrams, and only rechecks those with LIKE. Loaded only when the name changes. There is no
+    // foreign key, as in db/schema.sql, so the dump restore can drop the index while it fills the table.
+    @ElementCollection
+    @CollectionTable(name = "employee_search_trigrams",
+            joinColumns = @JoinColumn(name = "employee_id"), foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT),
+            indexes = @Index(name = "idx_employee_search_trigrams", columnList = "trigram, employee_id"))
+    @Column(name = "trigram", length = TRIGRAM_LENGTH, nullable = false)
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> searchTrigrams = new HashSet<>();
+
+    @PrePersist
+    public void indexSearchName() {
+        searchName = buildSearchName(firstName, middleName, lastNameFather, lastNameMother);
+        searchTrigrams = searchTrigrams(searchName);
+    }
+
+    // Updated in place, so Hibernate only writes the trigrams that changed.
+    @PreUpdate
+    public void reindexSearchName() {
+        String updated = buildSearchName(firstName, middleName, lastNameFather, lastNameMother);
+        if (!updated.equals(searchName)) {
+            searchName = updated;
+            Set<String> trigrams = searchTrigrams(updated);
+            searchTrigrams.retainAll(trigrams);
+            searchTrigrams.addAll(trigrams);
+        }
+    }
+
+    public static String buildSearchName(String firstName, String middleName,
+                                         String lastNameFather, String lastNameMother) {
+        // "first lastFather" comes first so every match of the original in-memory filter still matches.
+        // The other two fields are appended after a separator that search terms may not contain, so a term
+        // found only in the middle name or mother's last name matches too, which the old filter did not.
+        return (nullToEmpty(firstName) + " " + nullToEmpty(lastNameFather) + SEARCH_SEPARATOR
+                + nullToEmpty(middleName) + " " + nullToEmpty(lastNameMother)).toLowerCase(Locale.ROOT);
+    }
+
+    // Same windows as EmployeeRepository.SEARCH_TRIGRAM_BACKFILL builds in SQL.
+    public static Set<String> searchTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            String trigram = text.substring(i, i + TRIGRAM_LENGTH);
+            if (!trigram.contains(SEARCH_SEPARATOR)) {
+                trigrams.add(trigram);
+            }
+        }
+        return trigrams;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
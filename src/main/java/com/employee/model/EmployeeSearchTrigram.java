@@ -0,0 +1,41 @@
+package com.employee.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Read-only view of the trigram index that Employee.searchTrigrams maintains, so a search can collect
+ * matching ids from the index alone, without joining back to employees for every posting.
+ */
+@Entity
+@Immutable
+@Table(name = "employee_search_trigrams")
+@IdClass(EmployeeSearchTrigram.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearchTrigram {
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+    @Id
+    @Column(name = "trigram", length = Employee.TRIGRAM_LENGTH)
+    private String trigram;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private String trigram;
+    }
+}
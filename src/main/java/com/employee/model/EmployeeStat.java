@@ -0,0 +1,47 @@
+package com.employee.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Headcount of the employees sharing one combination of the dashboard dimensions. Writers apply
+ * deltas in their own transaction, so the table always matches the employees it summarizes and
+ * grows with the number of distinct combinations rather than with the number of employees.
+ */
+@Entity
+@Table(name = "employee_stats", indexes = {
+        @Index(name = "idx_employee_stats_key", columnList = "position, gender, active, age")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String position;
+    private String gender;
+    private boolean active;
+    // Exact age rather than a bucket, so any bucket width can be answered from the same rows.
+    private Integer age;
+    private long headcount;
+
+    public Key key() {
+        return new Key(position, gender, active, age);
+    }
+
+    public record Key(String position, String gender, boolean active, Integer age) {
+        public static Key of(Employee employee) {
+            return new Key(employee.getPosition(), employee.getGender(), employee.isActive(), employee.getAge());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.employee.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted employee in the change feed until compaction removes it.
+ */
+@Entity
+@Table(name = "employee_tombstones", indexes = {
+        @Index(name = "idx_employee_tombstones_change_seq", columnList = "change_seq, employee_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeTombstone {
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+    @Column(name = "change_seq")
+    private Long changeSeq;
+    private LocalDateTime deletedAt;
+}
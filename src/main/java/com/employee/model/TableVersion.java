@@ -0,0 +1,30 @@
+package com.employee.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per table, incremented in the same transaction as every write to that table,
+ * so collection responses can be validated without reading the table itself. The employees
+ * counter doubles as the change-feed sequence.
+ */
+@Entity
+@Table(name = "table_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableVersion {
+    public static final String EMPLOYEES = "employees";
+    // Highest change sequence whose tombstones may have been compacted away.
+    public static final String EMPLOYEE_CHANGES_HORIZON = "employee_changes_horizon";
+
+    @Id
+    private String tableName;
+    private long version;
+}
@@ -0,0 +1,18 @@
+package com.employee.repository;
+
+import com.employee.dto.EmployeeField;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Set-based updates that change many rows in one statement without loading them. Each returns the
+ * number of rows updated, increments their version, since bulk statements bypass {@code @Version},
+ * and stamps them with the change sequence.
+ */
+public interface EmployeeBulkRepository {
+
+    int updateByIdIn(Map<EmployeeField, Object> changes, Collection<Long> ids, long changeSeq);
+
+    int updateByPosition(Map<EmployeeField, Object> changes, String position, long changeSeq);
+}
@@ -0,0 +1,45 @@
+package com.employee.repository;
+
+import com.employee.dto.EmployeeField;
+import com.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+class EmployeeBulkRepositoryImpl implements EmployeeBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateByIdIn(Map<EmployeeField, Object> changes, Collection<Long> ids, long changeSeq) {
+        return update(changes, changeSeq, root -> root.get("id").in(ids));
+    }
+
+    @Override
+    public int updateByPosition(Map<EmployeeField, Object> changes, String position, long changeSeq) {
+        return update(changes, changeSeq,
+                root -> entityManager.getCriteriaBuilder().equal(root.get("position"), position));
+    }
+
+    private int update(Map<EmployeeField, Object> changes, long changeSeq,
+                       Function<Root<Employee>, Predicate> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+        changes.forEach((field, value) -> update.set(root.get(field.getProperty()), value));
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.set(root.<Long>get("changeSeq"), changeSeq);
+        update.where(where.apply(root));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
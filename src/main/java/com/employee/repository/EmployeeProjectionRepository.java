@@ -0,0 +1,16 @@
+package com.employee.repository;
+
+import com.employee.dto.EmployeeField;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Scalar projections of the employees table. Rows come back as tuples with one element per
+ * requested field, in the order given, so no entity is instantiated or tracked.
+ */
+public interface EmployeeProjectionRepository {
+
+    Stream<Tuple> streamFieldsOrderById(List<EmployeeField> fields);
+}
@@ -0,0 +1,38 @@
+package com.employee.repository;
+
+import com.employee.dto.EmployeeField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Tuple> streamFieldsOrderById(List<EmployeeField> fields) {
+        return query(select(fields) + " order by e.id").getResultStream();
+    }
+
+    // Property names come from the EmployeeField enum, never from the request, so they are safe to inline.
+    static String select(List<EmployeeField> fields) {
+        return fields.stream()
+                .map(field -> "e." + field.getProperty())
+                .collect(Collectors.joining(", ", "select ", " from Employee e"));
+    }
+
+    private TypedQuery<Tuple> query(String jpql) {
+        return entityManager.createQuery(jpql, Tuple.class)
+                .setHint(HINT_FETCH_SIZE, EmployeeRepository.STREAM_FETCH_SIZE)
+                .setHint(HINT_READ_ONLY, true);
+    }
+}
@@ -1,10 +1,101 @@
 package com.employee.repository;
 
 import com.employee.model.Employee;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeProjectionRepository,
+        EmployeeSearchRepository, EmployeeBulkRepository {
+    int STREAM_FETCH_SIZE = 500;
+
+    // Headcount per combination of the EmployeeStat dimensions, as tuples named after its properties.
+    String STAT_GROUPS = "select e.position as position, e.gender as gender, e.active as active, e.age as age,"
+            + " count(e) as headcount from Employee e ";
+    String BY_STAT_KEY = " group by e.position, e.gender, e.active, e.age";
+
+    // Indexes the search names of employees that have no trigrams yet, for rows written by plain SQL.
+    // Same windows as Employee.searchTrigrams; db/schema.sql runs it for rows from earlier versions.
+    String SEARCH_TRIGRAM_BACKFILL = "insert into employee_search_trigrams (employee_id, trigram)"
+            + " select distinct e.id, substring(e.search_name, r.x, 3) from (select id, search_name from employees n"
+            + " where not exists (select 1 from employee_search_trigrams t where t.employee_id = n.id)) e"
+            + " join system_range(1, (select coalesce(max(length(search_name)), 0) from employees)) r"
+            + " on r.x <= length(e.search_name) - 2"
+            + " where locate('|', substring(e.search_name, r.x, 3)) = 0";
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)
+    })
     List<Employee> findByFirstNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)
+    })
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)
+    })
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Employees written after a change sequence, as tuples of id and changeSeq.
+    @Query("select e.id as id, e.changeSeq as changeSeq from Employee e where e.changeSeq > :seq and e.changeSeq <= :upTo")
+    List<Tuple> findIdsChangedBetween(@Param("seq") long seq, @Param("upTo") long upTo, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("select e from Employee e where e.changeSeq <= :upTo"
+            + " and (e.changeSeq > :seq or (e.changeSeq = :seq and e.id > :after)) order by e.changeSeq, e.id")
+    List<Employee> findChanges(@Param("seq") long seq, @Param("after") long after, @Param("upTo") long upTo,
+                               Limit limit);
+
+    @Query(STAT_GROUPS + BY_STAT_KEY)
+    List<Tuple> countStatGroups();
+
+    @Query(STAT_GROUPS + "where e.id in :ids" + BY_STAT_KEY)
+    List<Tuple> countStatGroupsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(STAT_GROUPS + "where e.position = :position" + BY_STAT_KEY)
+    List<Tuple> countStatGroupsByPosition(@Param("position") String position);
+
+    @Query(STAT_GROUPS + "where e.changeSeq = :changeSeq" + BY_STAT_KEY)
+    List<Tuple> countStatGroupsByChangeSeq(@Param("changeSeq") long changeSeq);
+
+    // Unlike the derived deleteBy... methods these do not load the entities first.
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = SEARCH_TRIGRAM_BACKFILL, nativeQuery = true)
+    int backfillSearchTrigrams();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllOrderById();
+}
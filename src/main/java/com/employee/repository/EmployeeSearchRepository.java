@@ -0,0 +1,22 @@
+package com.employee.repository;
+
+import com.employee.dto.EmployeeField;
+import com.employee.model.Employee;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Name searches: employees whose search name contains a lowercased term. A term of three or more
+ * characters finds its candidates through the trigram index and rechecks only those; a shorter one
+ * can only scan the table.
+ */
+public interface EmployeeSearchRepository {
+
+    List<Employee> findBySearchNameContaining(String term);
+
+    Stream<Employee> streamBySearchNameContaining(String term);
+
+    Stream<Tuple> streamFieldsBySearchNameContaining(List<EmployeeField> fields, String term);
+}
@@ -0,0 +1,90 @@
+package com.employee.repository;
+
+import com.employee.dto.EmployeeField;
+import com.employee.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    private static final char LIKE_ESCAPE = '!';
+    private static final String CONTAINS = " where e.searchName like :term escape '" + LIKE_ESCAPE + "'";
+    // Employees holding every probed trigram; the trigrams of one employee are distinct.
+    private static final String HAS_TRIGRAMS = " and e.id in (select t.employeeId from EmployeeSearchTrigram t"
+            + " where t.trigram in :trigrams group by t.employeeId having count(t) = :trigramCount)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findBySearchNameContaining(String term) {
+        return search("select e from Employee e", Employee.class, term)
+                .setHint(HINT_CACHEABLE, true)
+                .setHint(HINT_CACHE_REGION, Employee.QUERY_CACHE_REGION)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Employee> streamBySearchNameContaining(String term) {
+        return streamed(search("select e from Employee e", Employee.class, term)).getResultStream();
+    }
+
+    @Override
+    public Stream<Tuple> streamFieldsBySearchNameContaining(List<EmployeeField> fields, String term) {
+        return streamed(search(EmployeeProjectionRepositoryImpl.select(fields), Tuple.class, term)).getResultStream();
+    }
+
+    private <T> TypedQuery<T> search(String select, Class<T> type, String term) {
+        Set<String> trigrams = probeTrigrams(term);
+        String jpql = select + CONTAINS + (trigrams.isEmpty() ? "" : HAS_TRIGRAMS);
+        TypedQuery<T> query = entityManager.createQuery(jpql, type)
+                .setParameter("term", "%" + escapeLike(term) + "%");
+        if (!trigrams.isEmpty()) {
+            query.setParameter("trigrams", trigrams).setParameter("trigramCount", (long) trigrams.size());
+        }
+        return query;
+    }
+
+    // Windows that cover the term without overlapping, plus the last one. Every employee holding the
+    // term holds them, and probing fewer postings than all the term's trigrams finds the candidates faster.
+    private static Set<String> probeTrigrams(String term) {
+        Set<String> trigrams = new HashSet<>();
+        int last = term.length() - Employee.TRIGRAM_LENGTH;
+        for (int i = 0; i < last; i += Employee.TRIGRAM_LENGTH) {
+            trigrams.add(term.substring(i, i + Employee.TRIGRAM_LENGTH));
+        }
+        if (last >= 0) {
+            trigrams.add(term.substring(last));
+        }
+        return trigrams;
+    }
+
+    private static <T> TypedQuery<T> streamed(TypedQuery<T> query) {
+        return query.setHint(HINT_FETCH_SIZE, EmployeeRepository.STREAM_FETCH_SIZE)
+                .setHint(HINT_READ_ONLY, true);
+    }
+
+    private static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
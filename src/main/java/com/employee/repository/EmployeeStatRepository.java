@@ -0,0 +1,13 @@
+package com.employee.repository;
+
+import com.employee.model.EmployeeStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface EmployeeStatRepository extends JpaRepository<EmployeeStat, Long> {
+
+    // Null arguments match NULL columns, so employees without a position, gender or age have their own row.
+    Optional<EmployeeStat> findByPositionAndGenderAndActiveAndAge(String position, String gender, boolean active,
+                                                                  Integer age);
+}
@@ -0,0 +1,41 @@
+package com.employee.repository;
+
+import com.employee.model.EmployeeTombstone;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    // Only ids that still exist get a tombstone, so the count is the number of rows about to be deleted.
+    @Modifying
+    @Query("insert into EmployeeTombstone (employeeId, changeSeq, deletedAt)"
+            + " select e.id, :changeSeq, :deletedAt from Employee e where e.id in :ids")
+    int insertForIds(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq,
+                     @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("select t from EmployeeTombstone t where t.changeSeq <= :upTo"
+            + " and (t.changeSeq > :seq or (t.changeSeq = :seq and t.employeeId > :after)) order by t.changeSeq, t.employeeId")
+    List<EmployeeTombstone> findChanges(@Param("seq") long seq, @Param("after") long after, @Param("upTo") long upTo,
+                                        Limit limit);
+
+    // Employees deleted after a change sequence, as tuples of id and changeSeq.
+    @Query("select t.employeeId as id, t.changeSeq as changeSeq from EmployeeTombstone t"
+            + " where t.changeSeq > :seq and t.changeSeq <= :upTo")
+    List<Tuple> findIdsDeletedBetween(@Param("seq") long seq, @Param("upTo") long upTo, Limit limit);
+
+    @Query("select max(t.changeSeq) from EmployeeTombstone t where t.deletedAt < :before")
+    Optional<Long> findMaxChangeSeqDeletedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from EmployeeTombstone t where t.changeSeq <= :changeSeq")
+    int deleteUpTo(@Param("changeSeq") long changeSeq);
+}
@@ -0,0 +1,39 @@
+package com.employee.repository;
+
+import com.employee.model.TableVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+
+    @Query("select t.version from TableVersion t where t.tableName = :tableName")
+    Optional<Long> findVersion(@Param("tableName") String tableName);
+
+    @Modifying
+    @Query("update TableVersion t set t.version = t.version + 1 where t.tableName = :tableName")
+    int increment(@Param("tableName") String tableName);
+
+    @Modifying
+    @Query("update TableVersion t set t.version = :version where t.tableName = :tableName and t.version < :version")
+    int raise(@Param("tableName") String tableName, @Param("version") long version);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TableVersion t where t.tableName = :tableName")
+    TableVersion lockByTableName(@Param("tableName") String tableName);
+
+    /**
+     * Locks the counter row until commit and returns the value this transaction will {@link #increment} it to.
+     * Writers are serialized on the row, so values become visible strictly in order. That also bounds a
+     * database to one write transaction at a time, from this call to commit: with writes holding it for
+     * t ms, writes top out near 1000 / t per second whatever the pool size.
+     */
+    default long lockNext(String tableName) {
+        return lockByTableName(tableName).getVersion() + 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.employee.routing;
+
+import com.employee.admission.Admission;
+import com.employee.admission.AdmissionClass;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a while after its own writes, so it sees them even when
+ * the replicas lag. A write request, one in the {@link AdmissionClass#WRITE} class, sets a cookie
+ * holding the time the window ends. Requests carrying a cookie still inside the window, and the write
+ * requests themselves, are pinned to the primary. The cookie is checked against the configured window,
+ * so a forged one cannot pin a client for longer.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE = "employee-primary-until";
+
+    private final Duration window;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (isWrite(method)) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (window.toMillis() + 999) / 1000));
+            response.addCookie(cookie);
+            ReplicaRouter.pinToPrimary();
+        } else if (withinWindow(request, now)) {
+            ReplicaRouter.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRouter.unpin();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicaRouter.unpin();
+    }
+
+    private boolean withinWindow(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until > now && until <= now + window.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWrite(HandlerMethod method) {
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        return admission != null && admission.value() == AdmissionClass.WRITE;
+    }
+}
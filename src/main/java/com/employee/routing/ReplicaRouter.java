@@ -0,0 +1,242 @@
+package com.employee.routing;
+
+import com.employee.model.TableVersion;
+import com.employee.service.EmployeesChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to replica pools and everything else to the primary. A replica is in
+ * rotation while its health check succeeds and its employees change sequence has reached the one the
+ * primary had {@code employee.datasource.max-replica-lag} ago; reads pick the replica with the fewest
+ * connections in use. Threads pinned to the primary, such as requests inside a client's
+ * read-your-writes window, read the primary too. With no replica URLs configured nothing is routed.
+ */
+@Slf4j
+@Component
+public class ReplicaRouter {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final String SEQ_QUERY = "select version from table_versions where table_name = ?";
+    // Short, so a dead replica neither stalls its health check nor the read that finds out first.
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 1000;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    // Times and change sequences of the primary at recent health checks, oldest first; only the health check uses it.
+    private final Deque<long[]> primarySeqs = new ArrayDeque<>();
+    // Highest change sequence a write through this instance committed.
+    private final AtomicLong lastWriteSeq = new AtomicLong();
+    private final Duration maxLag;
+    private volatile JdbcTemplate primary;
+
+    public ReplicaRouter(@Value("${employee.datasource.replica-urls:}") List<String> replicaUrls,
+                         @Value("${employee.datasource.replica-pool-size:10}") int poolSize,
+                         @Value("${employee.datasource.max-replica-lag:PT5S}") Duration maxLag,
+                         @Value("${spring.datasource.username:}") String username,
+                         @Value("${spring.datasource.password:}") String password,
+                         MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + replicas.size());
+            pool.setJdbcUrl(url.strip());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+            pool.setMetricRegistry(meterRegistry);
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicas.add(replica);
+            Gauge.builder("employee.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is in read rotation")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("employee.datasource.replica.lag", replica, r -> r.lag)
+                    .description("Change sequences the replica was behind the primary at its last health check")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    // The data source JPA and JDBC use: connections are only taken once the first statement runs, when
+    // the transaction's read-only flag is known.
+    public DataSource route(DataSource primaryDataSource) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, this));
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    // Whether a read-only transaction on this thread may see data older than this instance's own writes.
+    // Values loaded while this holds must not be cached.
+    public boolean mayReadStale() {
+        if (!isEnabled() || isPinnedToPrimary()) {
+            return false;
+        }
+        long written = lastWriteSeq.get();
+        return replicas.stream().anyMatch(replica -> replica.healthy && replica.seq < written);
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    // Runs the action with every read on the primary, e.g. to read back a write that just committed.
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPinnedToPrimary()) {
+            return action.get();
+        }
+        pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        lastWriteSeq.accumulateAndGet(event.changeSeq(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.datasource.health-interval:PT1S}")
+    public void checkReplicas() {
+        JdbcTemplate primaryTemplate = primary;
+        if (!isEnabled() || primaryTemplate == null) {
+            return;
+        }
+        long primarySeq;
+        try {
+            primarySeq = seq(primaryTemplate);
+        } catch (RuntimeException e) {
+            log.warn("Could not read the primary change sequence: {}", e.toString());
+            return;
+        }
+        long required = requiredSeq(System.nanoTime(), primarySeq);
+        for (Replica replica : replicas) {
+            try {
+                long seq = seq(replica.jdbcTemplate);
+                replica.seq = seq;
+                replica.lag = Math.max(0, primarySeq - seq);
+                setHealthy(replica, seq >= required, "behind the primary by " + replica.lag + " changes");
+            } catch (RuntimeException e) {
+                setHealthy(replica, false, e.toString());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    // Picks the replica for a read-only transaction, or null for the primary.
+    Replica select() {
+        if (!isEnabled() || isPinnedToPrimary() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        Replica best = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy && (best == null || replica.active() < best.active())) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    // Takes a replica out of rotation when a read cannot connect, until its next successful check.
+    void markDown(Replica replica, Exception cause) {
+        setHealthy(replica, false, cause.toString());
+    }
+
+    // Records the primary's sequence and returns the one it had max-replica-lag ago, or the oldest known.
+    private long requiredSeq(long now, long primarySeq) {
+        primarySeqs.addLast(new long[]{now, primarySeq});
+        long cutoff = now - maxLag.toNanos();
+        while (primarySeqs.size() > 1) {
+            long[] oldest = primarySeqs.removeFirst();
+            if (primarySeqs.getFirst()[0] > cutoff) {
+                primarySeqs.addFirst(oldest);
+                break;
+            }
+        }
+        return primarySeqs.getFirst()[1];
+    }
+
+    private void setHealthy(Replica replica, boolean healthy, String reason) {
+        if (replica.healthy != healthy) {
+            if (healthy) {
+                log.info("Replica {} is back in read rotation", replica.name);
+            } else {
+                log.warn("Replica {} taken out of read rotation: {}", replica.name, reason);
+            }
+        }
+        replica.healthy = healthy;
+    }
+
+    private static long seq(JdbcTemplate jdbcTemplate) {
+        Long seq = jdbcTemplate.queryForObject(SEQ_QUERY, Long.class, TableVersion.EMPLOYEES);
+        return seq == null ? 0 : seq;
+    }
+
+    static final class Replica {
+        final String name;
+        final HikariDataSource pool;
+        final JdbcTemplate jdbcTemplate;
+        volatile boolean healthy;
+        volatile long seq;
+        volatile long lag;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+            this.jdbcTemplate = new JdbcTemplate(pool);
+            this.jdbcTemplate.setQueryTimeout((int) Math.max(1, REPLICA_CONNECTION_TIMEOUT_MS / 1000));
+        }
+
+        private int active() {
+            return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeChangeDTO;
+import com.employee.dto.EmployeeChangesDTO;
+import com.employee.exception.ChangesExpiredException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tails the change feed for Server-Sent Events subscribers. One poller checks the change counter and
+ * hands each subscriber that is behind to a small pool of push threads, which send it the next batch
+ * after its own cursor. A subscriber gets at most one batch per poll and one push at a time, so a new
+ * or slow subscriber catches up in batches without holding up the other subscribers or the scheduler.
+ */
+@Slf4j
+@Component
+public class EmployeeChangePublisher {
+
+    public static final String EXPIRED_EVENT = "expired";
+
+    private final EmployeeChangeService employeeChangeService;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // The queue holds at most one task per subscriber.
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final Duration streamTimeout;
+
+    public EmployeeChangePublisher(EmployeeChangeService employeeChangeService,
+                                   @Value("${employee.changes.max-batch-size:1000}") int batchSize,
+                                   @Value("${employee.changes.stream-timeout:PT30M}") Duration streamTimeout,
+                                   @Value("${employee.changes.push-threads:4}") int pushThreads) {
+        this.employeeChangeService = employeeChangeService;
+        this.batchSize = batchSize;
+        this.streamTimeout = streamTimeout;
+        this.executor = new ThreadPoolExecutor(pushThreads, pushThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofPlatform().name("employee-changes-", 1).daemon(true).factory());
+    }
+
+    public SseEmitter subscribe(long since, Long after) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since, after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.poll-interval:PT1S}")
+    public void publish() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long current = employeeChangeService.getCurrentSeq();
+        for (Subscriber subscriber : subscribers) {
+            if ((subscriber.caughtUp && subscriber.since >= current) || !subscriber.pushing.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        push(subscriber);
+                    } finally {
+                        subscriber.pushing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down.
+                subscriber.pushing.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void push(Subscriber subscriber) {
+        try {
+            EmployeeChangesDTO batch = employeeChangeService.getChanges(subscriber.since, subscriber.after,
+                    subscriber.syncSeq, batchSize);
+            for (EmployeeChangeDTO change : batch.getChanges()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(change.getSeq() + ":" + change.getId())
+                        .name(change.getType().name())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+            subscriber.since = batch.getSince();
+            subscriber.after = batch.getAfter();
+            subscriber.syncSeq = batch.getSyncSeq();
+            subscriber.caughtUp = !batch.isMore();
+        } catch (ChangesExpiredException e) {
+            subscribers.remove(subscriber);
+            try {
+                subscriber.emitter.send(SseEmitter.event().name(EXPIRED_EVENT).data(e.getMessage()));
+                subscriber.emitter.complete();
+            } catch (IOException | IllegalStateException ignored) {
+                // The client is gone either way.
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Disconnected or already completed.
+            subscribers.remove(subscriber);
+        } catch (RuntimeException e) {
+            // The cursor is unchanged, so the next poll retries.
+            log.warn("Could not push employee changes after {}", subscriber.since, e);
+        }
+    }
+
+    // The cursor is only touched by the one push running for this subscriber; publish() reads it.
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean pushing = new AtomicBoolean();
+        private volatile long since;
+        private volatile Long after;
+        private volatile Long syncSeq;
+        private volatile boolean caughtUp;
+
+        private Subscriber(SseEmitter emitter, long since, Long after) {
+            this.emitter = emitter;
+            this.since = since;
+            this.after = after;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeChangesDTO;
+
+public interface EmployeeChangeService {
+    // Whether the feed is served to clients; it is recorded either way.
+    boolean isEnabled();
+
+    long getCurrentSeq();
+
+    default EmployeeChangesDTO getChanges(long since, Long after, int limit) {
+        return getChanges(since, after, null, limit);
+    }
+
+    EmployeeChangesDTO getChanges(long since, Long after, Long syncSeq, int limit);
+
+    int compactTombstones();
+}
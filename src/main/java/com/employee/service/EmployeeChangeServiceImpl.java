@@ -0,0 +1,138 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeChangeDTO;
+import com.employee.dto.EmployeeChangesDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.exception.ChangesExpiredException;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.model.Employee;
+import com.employee.model.EmployeeTombstone;
+import com.employee.model.TableVersion;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.EmployeeTombstoneRepository;
+import com.employee.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeChangeServiceImpl implements EmployeeChangeService {
+
+    private static final Comparator<EmployeeChangeDTO> FEED_ORDER =
+            Comparator.comparingLong(EmployeeChangeDTO::getSeq).thenComparing(EmployeeChangeDTO::getId);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final TableVersionRepository tableVersionRepository;
+    private final EmployeeMapper employeeMapper;
+
+    @Value("${employee.changes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.changes.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${employee.changes.tombstone-retention:P7D}")
+    private Duration tombstoneRetention;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getCurrentSeq() {
+        return tableVersionRepository.findVersion(TableVersion.EMPLOYEES).orElse(0L);
+    }
+
+    // since 0 starts an initial sync. It returns live rows only: a new client holds nothing to delete. Its
+    // later pages carry the sequence the sync started at, because only deletions after that can concern
+    // rows the client has received. The horizon is checked against that sequence, not against the cursor,
+    // so paging through old rows never expires while the sync is under way.
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeChangesDTO getChanges(long since, Long after, Long syncSeq, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Batch size must be at least 1");
+        }
+        long horizon = tableVersionRepository.findVersion(TableVersion.EMPLOYEE_CHANGES_HORIZON).orElse(0L);
+        // Every sequence up to the committed counter value is complete, while a higher one may still be
+        // committing. Reading only up to it keeps the cursor from skipping past a change that lands later.
+        long upTo = getCurrentSeq();
+        // Deletions after this sequence are the ones the caller needs.
+        long deletesAfter = syncSeq != null ? Math.max(since, syncSeq) : since == 0 ? upTo : since;
+        if (deletesAfter < horizon) {
+            throw new ChangesExpiredException("Deletions before change " + horizon
+                    + " have been compacted; reload all employees and continue from " + horizon);
+        }
+        // Without "after" the whole "since" sequence has been seen.
+        long afterId = after == null ? Long.MAX_VALUE : after;
+        int batchSize = Math.min(limit, maxBatchSize);
+        Limit rows = Limit.of(batchSize + 1);
+
+        List<EmployeeChangeDTO> changes = new ArrayList<>();
+        for (Employee employee : employeeRepository.findChanges(since, afterId, upTo, rows)) {
+            changes.add(EmployeeChangeDTO.builder()
+                    .seq(employee.getChangeSeq())
+                    .id(employee.getId())
+                    .type(EmployeeChangeDTO.Type.UPSERT)
+                    .employee(employeeMapper.toDTO(employee))
+                    .build());
+        }
+        List<EmployeeTombstone> tombstones = deletesAfter == since
+                ? tombstoneRepository.findChanges(since, afterId, upTo, rows)
+                : tombstoneRepository.findChanges(deletesAfter, Long.MAX_VALUE, upTo, rows);
+        for (EmployeeTombstone tombstone : tombstones) {
+            changes.add(EmployeeChangeDTO.builder()
+                    .seq(tombstone.getChangeSeq())
+                    .id(tombstone.getEmployeeId())
+                    .type(EmployeeChangeDTO.Type.DELETE)
+                    .build());
+        }
+        changes.sort(FEED_ORDER);
+        boolean more = changes.size() > batchSize;
+        List<EmployeeChangeDTO> batch = more ? changes.subList(0, batchSize) : changes;
+
+        EmployeeChangesDTO.EmployeeChangesDTOBuilder result = EmployeeChangesDTO.builder()
+                .changes(List.copyOf(batch))
+                .more(more);
+        EmployeeChangeDTO last = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+        if (last != null && (more || last.getSeq() >= deletesAfter)) {
+            return result.since(last.getSeq())
+                    .after(last.getId())
+                    .syncSeq(last.getSeq() < deletesAfter ? deletesAfter : null)
+                    .build();
+        }
+        // Everything up to deletesAfter has been returned, so a sync continues as an ordinary cursor.
+        if (deletesAfter > since) {
+            return result.since(deletesAfter).build();
+        }
+        return result.since(since).after(after).build();
+    }
+
+    // Live rows only ever carry their latest change, so compaction only has to drop old tombstones.
+    // Cursors older than the new horizon would miss those deletes and get 410 instead.
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${employee.changes.compaction-interval:PT1H}",
+            initialDelayString = "${employee.changes.compaction-interval:PT1H}")
+    public int compactTombstones() {
+        LocalDateTime before = LocalDateTime.now().minus(tombstoneRetention);
+        return tombstoneRepository.findMaxChangeSeqDeletedBefore(before)
+                .map(horizon -> {
+                    tableVersionRepository.raise(TableVersion.EMPLOYEE_CHANGES_HORIZON, horizon);
+                    return tombstoneRepository.deleteUpTo(horizon);
+                })
+                .orElse(0);
+    }
+}
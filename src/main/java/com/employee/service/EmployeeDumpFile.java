@@ -0,0 +1,208 @@
+package com.employee.service;
+
+import com.employee.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary dump of the employees table: a 24-byte header (magic, format, change sequence, row count)
+ * followed by one fixed-layout record per row in id order. Nulls are sentinel values and strings
+ * are length-prefixed UTF-8, so a record is read straight from a mapped buffer into JDBC parameters.
+ */
+final class EmployeeDumpFile {
+
+    static final String COLUMNS = "id, version, change_seq, created_at, active, age, birth_date,"
+            + " first_name, middle_name, last_name_father, last_name_mother, gender, position";
+    static final String SELECT = "select " + COLUMNS + " from employees order by id";
+    static final String INSERT = "insert into employees (" + COLUMNS + ", search_name)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAGIC = 0x454D5044;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int FIXED_BYTES = 3 * Long.BYTES + Long.BYTES + Integer.BYTES + 1 + 2 * Integer.BYTES;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final short NULL_STRING = -1;
+
+    private EmployeeDumpFile() {
+    }
+
+    static final class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private final long seq;
+        private long rows;
+
+        Writer(Path file, long seq) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.seq = seq;
+            // The header is filled in by finish(), once the row count is known.
+            buffer.position(HEADER_BYTES);
+        }
+
+        // Reads the current row of a result set for SELECT.
+        void write(ResultSet row) throws SQLException, IOException {
+            ensure(FIXED_BYTES);
+            buffer.putLong(row.getLong(1));
+            putLong(row.getLong(2), row.wasNull());
+            putLong(row.getLong(3), row.wasNull());
+            LocalDateTime createdAt = row.getObject(4, LocalDateTime.class);
+            buffer.putLong(createdAt == null ? NULL_LONG : createdAt.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(createdAt == null ? 0 : createdAt.getNano());
+            buffer.put((byte) (row.getBoolean(5) ? 1 : 0));
+            int age = row.getInt(6);
+            buffer.putInt(row.wasNull() ? NULL_INT : age);
+            LocalDate birthDate = row.getObject(7, LocalDate.class);
+            buffer.putInt(birthDate == null ? NULL_INT : (int) birthDate.toEpochDay());
+            for (int column = 8; column <= 13; column++) {
+                putString(row.getString(column));
+            }
+            rows++;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        void finish() throws IOException {
+            drain();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT).putLong(seq).putLong(rows);
+            channel.write(header.flip(), 0);
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void putLong(long value, boolean isNull) {
+            buffer.putLong(isNull ? NULL_LONG : value);
+        }
+
+        private void putString(String value) throws IOException {
+            if (value == null) {
+                ensure(Short.BYTES);
+                buffer.putShort(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(Short.BYTES + bytes.length);
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    static final class Reader {
+        private final MappedByteBuffer buffer;
+        private final long seq;
+        private final long rows;
+
+        private Reader(MappedByteBuffer buffer) throws IOException {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IOException("Not an employee dump in format " + FORMAT);
+            }
+            this.buffer = buffer;
+            this.seq = buffer.getLong();
+            this.rows = buffer.getLong();
+        }
+
+        // A single mapping keeps records contiguous; at roughly 100 bytes a row that is about 20M employees.
+        static Reader open(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("Employee dumps larger than 2 GB are not supported");
+                }
+                return new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+
+        long seq() {
+            return seq;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        // Binds the next record to the parameters of INSERT and returns its id.
+        long next(PreparedStatement insert) throws SQLException {
+            long id = buffer.getLong();
+            insert.setLong(1, id);
+            setLong(insert, 2, buffer.getLong());
+            setLong(insert, 3, buffer.getLong());
+            long createdAt = buffer.getLong();
+            int nanos = buffer.getInt();
+            insert.setObject(4, createdAt == NULL_LONG ? null : LocalDateTime.ofEpochSecond(createdAt, nanos, ZoneOffset.UTC));
+            insert.setBoolean(5, buffer.get() != 0);
+            int age = buffer.getInt();
+            if (age == NULL_INT) {
+                insert.setNull(6, Types.INTEGER);
+            } else {
+                insert.setInt(6, age);
+            }
+            int birthDate = buffer.getInt();
+            insert.setObject(7, birthDate == NULL_INT ? null : LocalDate.ofEpochDay(birthDate));
+            String firstName = getString();
+            String middleName = getString();
+            String lastNameFather = getString();
+            String lastNameMother = getString();
+            insert.setString(8, firstName);
+            insert.setString(9, middleName);
+            insert.setString(10, lastNameFather);
+            insert.setString(11, lastNameMother);
+            insert.setString(12, getString());
+            insert.setString(13, getString());
+            insert.setString(14, Employee.buildSearchName(firstName, middleName, lastNameFather, lastNameMother));
+            return id;
+        }
+
+        private static void setLong(PreparedStatement insert, int index, long value) throws SQLException {
+            if (value == NULL_LONG) {
+                insert.setNull(index, Types.BIGINT);
+            } else {
+                insert.setLong(index, value);
+            }
+        }
+
+        private String getString() {
+            short length = buffer.getShort();
+            if (length == NULL_STRING) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
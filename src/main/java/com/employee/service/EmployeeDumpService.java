@@ -0,0 +1,11 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeDumpDTO;
+
+import java.util.Optional;
+
+public interface EmployeeDumpService {
+    EmployeeDumpDTO dump();
+
+    Optional<EmployeeDumpDTO> restoreIfEmpty();
+}
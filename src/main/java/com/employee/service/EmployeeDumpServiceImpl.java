@@ -0,0 +1,180 @@
+package com.employee.service;
+
+import com.employee.config.CachingConfig;
+import com.employee.dto.EmployeeDumpDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.model.Employee;
+import com.employee.model.TableVersion;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.EmployeeTombstoneRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.snapshot.EmployeeSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeDumpServiceImpl implements EmployeeDumpService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final TableVersionRepository tableVersionRepository;
+    private final EmployeeStatsService statsService;
+    private final EmployeeSnapshot employeeSnapshot;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${employee.dump.file:}")
+    private String dumpFile;
+
+    // Reads the change sequence and then the rows in one snapshot, so writers are never blocked. Every
+    // change up to the sequence is in the dump; one committed in between may be too, and is replayed
+    // harmlessly after a restore, as after EmployeeSnapshot.reload.
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public EmployeeDumpDTO dump() {
+        Path file = configuredFile().orElseThrow(() -> new BadRequestException("No employee.dump.file is configured"));
+        long started = System.nanoTime();
+        long seq = tableVersionRepository.findVersion(TableVersion.EMPLOYEES).orElse(0L);
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        long rows;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (EmployeeDumpFile.Writer writer = new EmployeeDumpFile.Writer(partial, seq)) {
+                jdbcTemplate.query(EmployeeDumpFile.SELECT, row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.finish();
+                rows = writer.rows();
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            EmployeeDumpDTO result = result(file, rows, seq, started);
+            log.info("Dumped {} employees at change {} to {} in {} ms", rows, seq, file, result.getMillis());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write employee dump " + file, e);
+        }
+    }
+
+    // Runs before the web server starts, so nothing else writes while the indexes are down. Tombstones
+    // are not part of a dump, so feed readers from before the restored sequence must start over.
+    @Override
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, allEntries = true)
+    public Optional<EmployeeDumpDTO> restoreIfEmpty() {
+        Optional<Path> file = configuredFile().filter(Files::isRegularFile);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        if (employeeRepository.count() > 0) {
+            log.info("Employees table is not empty, skipping restore from {}", file.get());
+            return Optional.empty();
+        }
+        long started = System.nanoTime();
+        EmployeeDumpFile.Reader reader;
+        try {
+            reader = EmployeeDumpFile.Reader.open(file.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read employee dump " + file.get(), e);
+        }
+        List<String> indexes = new ArrayList<>(dropSecondaryIndexes("EMPLOYEES"));
+        indexes.addAll(dropSecondaryIndexes("EMPLOYEE_SEARCH_TRIGRAMS"));
+        Long maxId;
+        try {
+            maxId = transactionTemplate.execute(status -> {
+                // Null when this runs before the counters are initialized.
+                tableVersionRepository.lockByTableName(TableVersion.EMPLOYEES);
+                Long max = jdbcTemplate.execute(EmployeeDumpFile.INSERT, (PreparedStatement insert) -> {
+                    long highest = 0;
+                    for (long row = 1; row <= reader.rows(); row++) {
+                        highest = Math.max(highest, reader.next(insert));
+                        insert.addBatch();
+                        if (row % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                    return highest;
+                });
+                // Restored rows get their search trigrams in one statement, like the indexes afterwards.
+                employeeRepository.backfillSearchTrigrams();
+                tombstoneRepository.deleteAllInBatch();
+                tableVersionRepository.save(new TableVersion(TableVersion.EMPLOYEES, reader.seq()));
+                tableVersionRepository.save(new TableVersion(TableVersion.EMPLOYEE_CHANGES_HORIZON, reader.seq()));
+                return max;
+            });
+        } finally {
+            indexes.forEach(jdbcTemplate::execute);
+        }
+        raiseIdSequence(maxId);
+        statsService.rebuildStats();
+        employeeSnapshot.reload();
+        EmployeeDumpDTO result = result(file.get(), reader.rows(), reader.seq(), started);
+        log.info("Restored {} employees at change {} from {} in {} ms", reader.rows(), reader.seq(), file.get(),
+                result.getMillis());
+        return Optional.of(result);
+    }
+
+    // H2 builds an index over existing rows in one sorted pass, much cheaper than maintaining it
+    // row by row during the load. Returns the statements that recreate the dropped indexes.
+    private List<String> dropSecondaryIndexes(String table) {
+        List<String> creates = jdbcTemplate.queryForList("script nodata table " + table, String.class).stream()
+                .filter(sql -> sql.startsWith("CREATE INDEX "))
+                .toList();
+        jdbcTemplate.queryForList("select index_name from information_schema.indexes where table_schema = schema()"
+                        + " and table_name = ? and index_type_name = 'INDEX'", String.class, table)
+                .forEach(index -> jdbcTemplate.execute("drop index \"" + index + "\""));
+        return creates;
+    }
+
+    // A dump may come from a database that handed out higher ids than this one. ALTER SEQUENCE commits
+    // implicitly, so it runs after the rows are in.
+    private void raiseIdSequence(long maxId) {
+        long restartWith = maxId + Employee.ID_ALLOCATION_SIZE + 1;
+        Long next = jdbcTemplate.queryForObject("select next value for employees_seq", Long.class);
+        if (next != null && next < restartWith) {
+            jdbcTemplate.execute("alter sequence employees_seq restart with " + restartWith);
+        }
+    }
+
+    private Optional<Path> configuredFile() {
+        return dumpFile == null || dumpFile.isBlank() ? Optional.empty() : Optional.of(Path.of(dumpFile));
+    }
+
+    private static EmployeeDumpDTO result(Path file, long rows, long seq, long started) {
+        try {
+            return EmployeeDumpDTO.builder()
+                    .file(file.toString())
+                    .employees(rows)
+                    .bytes(Files.size(file))
+                    .seq(seq)
+                    .millis((System.nanoTime() - started) / 1_000_000)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeExportDTO;
+import com.employee.dto.EmployeeExportRequestDTO;
+
+import java.nio.file.Path;
+
+public interface EmployeeExportService {
+    EmployeeExportDTO startExport(EmployeeExportRequestDTO request);
+
+    EmployeeExportDTO getExport(String id);
+
+    Path getExportFile(String id);
+}
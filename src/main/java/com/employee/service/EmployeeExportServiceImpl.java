@@ -0,0 +1,252 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeExportDTO;
+import com.employee.dto.EmployeeExportRequestDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.exception.BadRequestException;
+import com.employee.exception.ConflictException;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes full employee extracts to local files on a small dedicated pool, so a payroll-sized export
+ * holds one pooled connection and one low-priority thread instead of a request thread. Jobs are kept
+ * in memory; finished files are deleted after {@code employee.exports.retention}.
+ */
+@Slf4j
+@Service
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final SerializedString NEWLINE = new SerializedString("\n");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final Path directory;
+    private final Duration retention;
+    private final Duration retryAfter;
+
+    public EmployeeExportServiceImpl(EmployeeService employeeService, ObjectMapper objectMapper,
+                                     @Value("${employee.exports.dir}") Path directory,
+                                     @Value("${employee.exports.max-concurrent:1}") int maxConcurrent,
+                                     @Value("${employee.exports.max-queued:10}") int maxQueued,
+                                     @Value("${employee.exports.retention:PT1H}") Duration retention,
+                                     @Value("${employee.exports.retry-after:PT30S}") Duration retryAfter) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.retention = retention;
+        this.retryAfter = retryAfter;
+        // Minimum priority is only a hint to the OS; the pool and queue bounds are what protect online traffic.
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued),
+                Thread.ofPlatform().name("employee-export-", 1).daemon(true).priority(Thread.MIN_PRIORITY).factory());
+    }
+
+    @Override
+    public EmployeeExportDTO startExport(EmployeeExportRequestDTO request) {
+        if (request.getFormat() == null) {
+            throw new BadRequestException("Export format must be one of " + Arrays.toString(EmployeeExportDTO.Format.values()));
+        }
+        List<EmployeeField> fields = request.getFields() == null
+                ? List.of(EmployeeField.values())
+                : EmployeeField.parse(request.getFields());
+        Job job = new Job(UUID.randomUUID().toString(), request.getFormat(), request.isGzip(), fields);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new ServiceUnavailableException("Too many exports are queued, retry later", retryAfter);
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public EmployeeExportDTO getExport(String id) {
+        return find(id).toDTO();
+    }
+
+    @Override
+    public Path getExportFile(String id) {
+        Job job = find(id);
+        if (job.status != EmployeeExportDTO.Status.COMPLETED) {
+            throw new ConflictException("Export " + id + " is " + job.status);
+        }
+        return job.file;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.exports.purge-interval:PT5M}")
+    public void purgeExpired() {
+        LocalDateTime expired = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt == null || job.finishedAt.isAfter(expired)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = EmployeeExportDTO.Status.RUNNING;
+        Path partial = job.file.resolveSibling(job.file.getFileName() + ".partial");
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = open(partial, job.gzip);
+                 JsonGenerator generator = new RowCountingGenerator(generator(out, job), job)) {
+                employeeService.writeAllEmployees(job.fields, generator);
+            }
+            Files.move(partial, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.bytes = Files.size(job.file);
+            job.status = EmployeeExportDTO.Status.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Export {} failed", job.id, e);
+            deleteQuietly(partial);
+            job.error = e.getMessage();
+            job.status = EmployeeExportDTO.Status.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // The generator buffers its own output, so the stream below it sees large writes; the buffer then
+    // turns compressed output into 64 KB channel writes.
+    private static OutputStream open(Path file, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        return gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+
+    // A CSV generator with a header row of the selected field names, which the bulk import reads back.
+    private JsonGenerator generator(OutputStream out, Job job) throws IOException {
+        if (job.format == EmployeeExportDTO.Format.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            job.fields.forEach(field -> schema.addColumn(field.getProperty()));
+            JsonGenerator generator = CSV_MAPPER.getFactory().createGenerator(out);
+            generator.setSchema(schema.build());
+            return generator;
+        }
+        JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(NEWLINE);
+        return generator;
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export not found with id " + id);
+        }
+        return job;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+
+    private final class Job {
+        private final String id;
+        private final EmployeeExportDTO.Format format;
+        private final boolean gzip;
+        private final List<EmployeeField> fields;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile EmployeeExportDTO.Status status = EmployeeExportDTO.Status.QUEUED;
+        private volatile long rows;
+        private volatile long bytes;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, EmployeeExportDTO.Format format, boolean gzip, List<EmployeeField> fields) {
+            this.id = id;
+            this.format = format;
+            this.gzip = gzip;
+            this.fields = fields;
+            this.file = directory.resolve("employees-" + id + "." + format.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : ""));
+        }
+
+        private EmployeeExportDTO toDTO() {
+            return EmployeeExportDTO.builder()
+                    .id(id)
+                    .format(format)
+                    .gzip(gzip)
+                    .fields(fields.stream().map(EmployeeField::getProperty).toList())
+                    .status(status)
+                    .rows(rows)
+                    .bytes(bytes)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    // Counts each top-level object as one exported row, for progress reporting.
+    private static final class RowCountingGenerator extends JsonGeneratorDelegate {
+        private final Job job;
+
+        private RowCountingGenerator(JsonGenerator delegate, Job job) {
+            super(delegate, false);
+            this.job = job;
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            super.writeEndObject();
+            if (getOutputContext().inRoot()) {
+                job.rows++;
+            }
+        }
+    }
+}
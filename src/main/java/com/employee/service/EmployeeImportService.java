@@ -0,0 +1,10 @@
+package com.employee.service;
+
+import com.employee.dto.BulkImportResultDTO;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+    BulkImportResultDTO importEmployees(InputStream input, MediaType format);
+}
@@ -0,0 +1,165 @@
+package com.employee.service;
+
+import com.employee.dto.BulkImportErrorDTO;
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.model.Employee;
+import com.employee.model.TableVersion;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    private final EmployeeRepository employeeRepository;
+    private final TableVersionRepository tableVersionRepository;
+    private final EmployeeStatsRecorder statsRecorder;
+    private final EmployeeMapper employeeMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    @Value("${employee.bulk.chunk-size:5000}")
+    private int chunkSize;
+
+    @Override
+    public BulkImportResultDTO importEmployees(InputStream input, MediaType format) {
+        ImportRun run = new ImportRun();
+        try (MappingIterator<EmployeeDTO> rows = readerFor(format).readValues(input)) {
+            boolean more = true;
+            while (more) {
+                try {
+                    more = rows.hasNextValue();
+                    if (more) {
+                        run.add(rows.nextValue());
+                    }
+                } catch (DatabindException e) {
+                    // The iterator skips past the bad record on the next call.
+                    run.reject(e);
+                } catch (StreamReadException e) {
+                    // Malformed input cannot be resynchronised, so stop reading but keep what was parsed.
+                    run.reject(e);
+                    more = false;
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read import body: " + e.getMessage());
+        }
+        run.flush();
+        return run.result();
+    }
+
+    private ObjectReader readerFor(MediaType format) {
+        if ("csv".equalsIgnoreCase(format.getSubtype())) {
+            return CSV_MAPPER.readerFor(EmployeeDTO.class).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(EmployeeDTO.class);
+    }
+
+    private class ImportRun {
+        private final List<Employee> chunk = new ArrayList<>();
+        private final List<BulkImportErrorDTO> errors = new ArrayList<>();
+        private long records;
+        private long chunkFirstRecord = 1;
+        private int chunks;
+        private long imported;
+        private long failed;
+
+        void add(EmployeeDTO dto) {
+            records++;
+            Employee employee = employeeMapper.toEntity(dto);
+            employee.setCreatedAt(LocalDateTime.now());
+            chunk.add(employee);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(JacksonException e) {
+            records++;
+            failed++;
+            errors.add(BulkImportErrorDTO.builder()
+                    .firstRecord(records)
+                    .lastRecord(records)
+                    .message(e.getOriginalMessage())
+                    .build());
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                int index = chunks++;
+                // While sharded, each chunk goes whole to the next shard in turn, so it still commits or fails as one.
+                int shard = Math.floorMod(nextShard.getAndIncrement(), shardRouter.getShardCount());
+                try {
+                    // One transaction per chunk: a bad chunk rolls back alone and the import carries on.
+                    ShardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+                        chunk.forEach(employee -> employee.setChangeSeq(changeSeq));
+                        employeeRepository.saveAll(chunk);
+                        statsRecorder.employeesAdded(chunk);
+                        tableVersionRepository.increment(TableVersion.EMPLOYEES);
+                        eventPublisher.publishEvent(new EmployeesChangedEvent(changeSeq));
+                        entityManager.flush();
+                        entityManager.clear();
+                        return null;
+                    }));
+                    imported += chunk.size();
+                } catch (RuntimeException e) {
+                    failed += chunk.size();
+                    errors.add(BulkImportErrorDTO.builder()
+                            .chunk(index)
+                            .firstRecord(chunkFirstRecord)
+                            .lastRecord(records)
+                            .message(e.getMessage())
+                            .build());
+                }
+                chunk.clear();
+            }
+            chunkFirstRecord = records + 1;
+        }
+
+        BulkImportResultDTO result() {
+            return BulkImportResultDTO.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
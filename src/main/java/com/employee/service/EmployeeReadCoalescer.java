@@ -0,0 +1,192 @@
+package com.employee.service;
+
+import com.employee.routing.ReplicaRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one database load ("single flight"). Every committed write
+ * to employees advances a generation, and a caller only joins a load that started in its own
+ * generation or a later one. A read that starts after an update has committed therefore never
+ * receives a result loaded before it. Reads pinned to the primary only share loads with each other,
+ * so they never receive a result read from a lagging replica. A caller waits at most
+ * employee.coalescing.max-wait for a load it joined, and then runs its own.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeReadCoalescer {
+
+    public enum SearchKey {
+        /** Only identical names share a search. */
+        EXACT,
+        /** Names that differ only in case share a search; the search ignores case anyway. */
+        CASE_FOLDED,
+        /** As CASE_FOLDED, and surrounding whitespace is dropped from the search term too. */
+        TRIMMED
+    }
+
+    // Keys whose last result was too large to share, until the nanoTime their entry expires.
+    private static final int MAX_UNSHARED_KEYS = 10_000;
+
+    private final ConcurrentHashMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<FlightKey, Long> unshared = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<RequestTags, Counter> requests = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${employee.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.coalescing.search-key:case-folded}")
+    private SearchKey searchKey;
+
+    @Value("${employee.coalescing.max-shared-bytes:1MB}")
+    private DataSize maxSharedBytes;
+
+    @Value("${employee.coalescing.max-wait:5s}")
+    private Duration maxWait;
+
+    @Value("${employee.coalescing.unshared-ttl:1m}")
+    private Duration unsharedTtl;
+
+    // Runs the loader, or waits for a running load of the same kind and key and returns its result
+    // or rethrows its exception. A loader returns null for a result too large to share. Its key is then
+    // remembered for employee.coalescing.unshared-ttl, and meanwhile load returns null at once, without
+    // running or joining anything, so every caller reads the result on its own instead of queueing first.
+    @SuppressWarnings("unchecked")
+    public <V> V load(String kind, Object key, Supplier<V> loader) {
+        if (!enabled) {
+            requests(kind, "loaded").increment();
+            return loader.get();
+        }
+        long current = generation.get();
+        FlightKey flightKey = new FlightKey(kind, key, ReplicaRouter.isPinnedToPrimary());
+        Long unsharedUntil = unshared.get(flightKey);
+        if (unsharedUntil != null) {
+            if (System.nanoTime() - unsharedUntil < 0) {
+                requests(kind, "unshared").increment();
+                return null;
+            }
+            unshared.remove(flightKey, unsharedUntil);
+        }
+        Flight started = new Flight(current);
+        Flight flight = flights.compute(flightKey,
+                (k, running) -> running != null && running.generation >= current ? running : started);
+        if (flight != started) {
+            requests(kind, "joined").increment();
+            try {
+                return (V) join(flight.result);
+            } catch (TimeoutException e) {
+                requests(kind, "timed-out").increment();
+                return loader.get();
+            }
+        }
+        requests(kind, "loaded").increment();
+        try {
+            V value = loader.get();
+            if (value == null) {
+                markUnshared(flightKey);
+            }
+            started.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            started.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, started);
+        }
+    }
+
+    // Read before a load to find out afterwards whether a write committed while it ran.
+    public long generation() {
+        return generation.get();
+    }
+
+    // The search term to run and to share by, per employee.coalescing.search-key.
+    public String searchTerm(String name) {
+        return switch (searchKey) {
+            case EXACT -> name;
+            case CASE_FOLDED -> name.toLowerCase(Locale.ROOT);
+            case TRIMMED -> name.strip().toLowerCase(Locale.ROOT);
+        };
+    }
+
+    // Larger results are streamed to each caller instead of being buffered and shared.
+    public long maxSharedBytes() {
+        return maxSharedBytes.toBytes();
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    // For writes another instance committed, which publish no event here.
+    public void onRemoteChanges() {
+        generation.incrementAndGet();
+    }
+
+    // Registered once per tag pair, so a read does not look its counter up in the registry.
+    private Counter requests(String kind, String result) {
+        return requests.computeIfAbsent(new RequestTags(kind, result), tags -> Counter.builder("employee.coalescing.requests")
+                .description("Reads that ran a database load or joined one already running")
+                .tag("kind", kind)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    private void markUnshared(FlightKey flightKey) {
+        if (unshared.size() >= MAX_UNSHARED_KEYS) {
+            unshared.clear();
+        }
+        unshared.put(flightKey, System.nanoTime() + unsharedTtl.toNanos());
+    }
+
+    // An interrupted caller stops waiting too, and loads on its own.
+    private Object join(CompletableFuture<Object> result) throws TimeoutException {
+        try {
+            return result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record FlightKey(String kind, Object key, boolean primary) {
+    }
+
+    private record RequestTags(String kind, String result) {
+    }
+
+    private static final class Flight {
+        private final long generation;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -1,21 +1,58 @@
 package com.employee.service;
 
+import com.employee.dto.BulkMutationResultDTO;
+import com.employee.dto.EmployeeBulkUpdateDTO;
 import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeeLookupDTO;
+import com.employee.dto.EmployeePageDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 public interface EmployeeService {
     List<EmployeeDTO> getAllEmployees();
 
+    EmployeePageDTO getEmployeesPage(Long cursor, int size);
+
+    void writeAllEmployees(JsonGenerator generator) throws IOException;
+
+    void writeAllEmployees(List<EmployeeField> fields, JsonGenerator generator) throws IOException;
+
     EmployeeDTO getEmployeeById(Long id);
 
+    List<EmployeeLookupDTO> getEmployeesByIds(List<Long> ids);
+
+    Long getEmployeeVersion(Long id);
+
+    long getEmployeesVersion();
+
     List<EmployeeDTO> searchEmployeesByName(String name);
 
+    void writeEmployeesByName(String name, JsonGenerator generator) throws IOException;
+
+    void writeEmployeesByName(String name, List<EmployeeField> fields, JsonGenerator generator) throws IOException;
+
     EmployeeDTO createEmployee(EmployeeDTO employeeCreateDTO);
 
     List<EmployeeDTO> createMultipleEmployees(List<EmployeeDTO> employees);
 
     EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeUpdateDTO);
 
+    EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeUpdateDTO, Long expectedVersion);
+
+    // Applies many updates by id at once; ids that no longer exist are skipped. The employees cache is
+    // left to the caller.
+    List<EmployeeDTO> updateEmployees(Map<Long, EmployeeDTO> employeeUpdateDTOs);
+
     void deleteEmployee(Long id);
+
+    BulkMutationResultDTO updateEmployees(EmployeeBulkUpdateDTO request);
+
+    BulkMutationResultDTO deactivateEmployees(EmployeeSelectionDTO where);
+
+    BulkMutationResultDTO deleteEmployees(List<Long> ids);
 }
\ No newline at end of file
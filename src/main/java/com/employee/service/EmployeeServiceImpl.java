@@ -1,25 +1,85 @@
 package com.employee.service;
 
+import com.employee.config.CachingConfig;
+import com.employee.dto.BulkMutationResultDTO;
+import com.employee.dto.EmployeeBulkUpdateDTO;
 import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeeLookupDTO;
+import com.employee.dto.EmployeePageDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.exception.PreconditionFailedException;
 import com.employee.exception.ResourceNotFoundException;
+import com.employee.mapper.EmployeeJsonWriter;
 import com.employee.mapper.EmployeeMapper;
 import com.employee.model.Employee;
+import com.employee.model.EmployeeStat;
+import com.employee.model.TableVersion;
 import com.employee.repository.EmployeeRepository;
+import com.employee.repository.EmployeeTombstoneRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.routing.ReplicaRouter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final Set<EmployeeField> STAT_FIELDS =
+            Set.of(EmployeeField.POSITION, EmployeeField.GENDER, EmployeeField.ACTIVE, EmployeeField.AGE);
+
     private final EmployeeRepository employeeRepository;
+    private final TableVersionRepository tableVersionRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final EmployeeStatsRecorder statsRecorder;
     private final EmployeeMapper employeeMapper;
+    private final EmployeeJsonWriter employeeJsonWriter;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final EmployeeReadCoalescer employeeReadCoalescer;
+    private final ReplicaRouter replicaRouter;
+
+    @Value("${employee.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${employee.ids.max-per-request:10000}")
+    private int maxIdsPerRequest;
+
+    @Value("${employee.ids.chunk-size:1000}")
+    private int idChunkSize;
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees() {
         return employeeRepository.findAll()
                 .stream()
@@ -27,53 +87,346 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageDTO getEmployeesPage(Long cursor, int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        // Fetch one extra row to know whether another page exists without a count query.
+        List<Employee> rows = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor == null ? 0L : cursor, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<EmployeeDTO> content = rows.stream()
+                .limit(pageSize)
+                .map(employeeMapper::toDTO)
+                .collect(Collectors.toList());
+        return EmployeePageDTO.builder()
+                .content(content)
+                .nextCursor(hasNext ? content.get(content.size() - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllEmployees(JsonGenerator generator) throws IOException {
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderById()) {
+            write(employees, generator);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllEmployees(List<EmployeeField> fields, JsonGenerator generator) throws IOException {
+        try (Stream<Tuple> rows = employeeRepository.streamFieldsOrderById(fields)) {
+            write(rows, fields, generator);
+        }
+    }
+
+    // Concurrent misses for one id share a load. A load only stays cached if no write committed while
+    // it ran; writes put or evict their own entries after they commit, so they always land later. Nor
+    // is it cached while a replica it may have come from is behind this instance's last write.
     @Override
     public EmployeeDTO getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        Cache cache = cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE);
+        EmployeeDTO cached = cache.get(id, EmployeeDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = employeeReadCoalescer.generation();
+        return employeeReadCoalescer.load("id", id, () -> {
+            boolean mayBeStale = replicaRouter.mayReadStale();
+            EmployeeDTO employee = employeeRepository.findById(id)
+                    .map(employeeMapper::toDTO)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
+            if (mayBeStale) {
+                return employee;
+            }
+            cache.putIfAbsent(id, employee);
+            if (employeeReadCoalescer.generation() != generation) {
+                cache.evict(id);
+            }
+            return employee;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeLookupDTO> getEmployeesByIds(List<Long> ids) {
+        Map<Long, EmployeeDTO> found = new HashMap<>(ids.size() * 2);
+        for (List<Long> chunk : idChunks(ids)) {
+            for (Employee employee : employeeRepository.findAllById(chunk)) {
+                found.put(employee.getId(), employeeMapper.toDTO(employee));
+            }
+        }
+        return ids.stream()
+                .map(id -> EmployeeLookupDTO.builder()
+                        .id(id)
+                        .found(found.containsKey(id))
+                        .employee(found.get(id))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Long getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
-        return employeeMapper.toDTO(employee);
     }
 
     @Override
+    public long getEmployeesVersion() {
+        return tableVersionRepository.findVersion(TableVersion.EMPLOYEES).orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> searchEmployeesByName(String name) {
-        return employeeRepository.findAll()
+        return employeeRepository.findBySearchNameContaining(searchTerm(name))
                 .stream()
-                .filter(e -> (e.getFirstName() + " " + e.getLastNameFather()).toLowerCase().contains(name.toLowerCase()))
                 .map(employeeMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void writeEmployeesByName(String name, JsonGenerator generator) throws IOException {
+        try (Stream<Employee> employees = employeeRepository.streamBySearchNameContaining(searchTerm(name))) {
+            write(employees, generator);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeEmployeesByName(String name, List<EmployeeField> fields, JsonGenerator generator) throws IOException {
+        try (Stream<Tuple> rows = employeeRepository.streamFieldsBySearchNameContaining(fields, searchTerm(name))) {
+            write(rows, fields, generator);
+        }
+    }
+
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#result.id")
     public EmployeeDTO createEmployee(EmployeeDTO dto) {
         Employee employee = employeeMapper.toEntity(dto);
         employee.setCreatedAt(LocalDateTime.now());
-        return employeeMapper.toDTO(employeeRepository.save(employee));
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+        employee.setChangeSeq(changeSeq);
+        Employee saved = employeeRepository.save(employee);
+        statsRecorder.employeesAdded(List.of(saved));
+        advance(changeSeq);
+        return employeeMapper.toDTO(saved);
     }
 
     @Override
+    @Transactional
     public List<EmployeeDTO> createMultipleEmployees(List<EmployeeDTO> employees) {
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
         List<Employee> employeeList = employees.stream()
                 .map(employeeMapper::toEntity)
-                .peek(e -> e.setCreatedAt(LocalDateTime.now()))
+                .peek(e -> {
+                    e.setCreatedAt(LocalDateTime.now());
+                    e.setChangeSeq(changeSeq);
+                })
                 .collect(Collectors.toList());
-        return employeeRepository.saveAll(employeeList)
-                .stream()
+        List<Employee> saved = employeeRepository.saveAll(employeeList);
+        statsRecorder.employeesAdded(saved);
+        advance(changeSeq);
+        return saved.stream()
                 .map(employeeMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
+    @CachePut(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#id")
     public EmployeeDTO updateEmployee(Long id, EmployeeDTO dto) {
+        return updateEmployee(id, dto, null);
+    }
+
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CachingConfig.EMPLOYEES_CACHE, key = "#id")
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO dto, Long expectedVersion) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new PreconditionFailedException("Employee " + id + " is at version " + employee.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        EmployeeStat.Key before = EmployeeStat.Key.of(employee);
         employeeMapper.updateEntityFromDTO(dto, employee);
-        return employeeMapper.toDTO(employeeRepository.save(employee));
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+        employee.setChangeSeq(changeSeq);
+        // Flush now so the returned DTO carries the incremented version; a concurrent writer fails here,
+        // which also guarantees the row still had the values "before" was taken from.
+        Employee saved = employeeRepository.saveAndFlush(employee);
+        statsRecorder.employeeChanged(before, EmployeeStat.Key.of(saved));
+        advance(changeSeq);
+        return employeeMapper.toDTO(saved);
     }
 
+    // Each update is applied as updateEmployee would apply it, all under one change sequence, and the
+    // dirty rows are flushed together so Hibernate sends the UPDATEs in JDBC batches.
     @Override
+    @Transactional
+    public List<EmployeeDTO> updateEmployees(Map<Long, EmployeeDTO> updates) {
+        List<List<Long>> chunks = idChunks(List.copyOf(updates.keySet()));
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+        List<Employee> updated = new ArrayList<>(updates.size());
+        List<EmployeeStat.Key> before = new ArrayList<>(updates.size());
+        for (List<Long> chunk : chunks) {
+            for (Employee employee : employeeRepository.findAllById(chunk)) {
+                before.add(EmployeeStat.Key.of(employee));
+                employeeMapper.updateEntityFromDTO(updates.get(employee.getId()), employee);
+                employee.setChangeSeq(changeSeq);
+                updated.add(employee);
+            }
+        }
+        if (updated.isEmpty()) {
+            return List.of();
+        }
+        // Flush now so the returned DTOs carry the incremented versions.
+        entityManager.flush();
+        statsRecorder.employeesChanged(before, updated.stream().map(EmployeeStat.Key::of).toList());
+        advance(changeSeq);
+        return updated.stream()
+                .map(employeeMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE)
     public void deleteEmployee(Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
-        employeeRepository.delete(employee);
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+        if (tombstoneRepository.insertForIds(List.of(id), changeSeq, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Employee not found with id " + id);
+        }
+        statsRecorder.groupsRemoved(employeeRepository.countStatGroupsByIdIn(List.of(id)));
+        employeeRepository.removeById(id);
+        advance(changeSeq);
+    }
+
+    // Bulk statements may touch any cached employee, so the whole cache is dropped once they commit.
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, allEntries = true)
+    public BulkMutationResultDTO updateEmployees(EmployeeBulkUpdateDTO request) {
+        Map<EmployeeField, Object> changes = request.getSet() == null
+                ? Map.of()
+                : employeeMapper.toChanges(request.getSet());
+        if (changes.isEmpty()) {
+            throw new BadRequestException("At least one field must be set");
+        }
+        return update(request.getWhere(), changes);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, allEntries = true)
+    public BulkMutationResultDTO deactivateEmployees(EmployeeSelectionDTO where) {
+        return update(where, Map.of(EmployeeField.ACTIVE, false));
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CachingConfig.EMPLOYEES_CACHE, allEntries = true)
+    public BulkMutationResultDTO deleteEmployees(List<Long> ids) {
+        List<List<Long>> chunks = idChunks(ids);
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+        LocalDateTime deletedAt = LocalDateTime.now();
+        List<Tuple> removed = new ArrayList<>();
+        int affected = 0;
+        for (List<Long> chunk : chunks) {
+            tombstoneRepository.insertForIds(chunk, changeSeq, deletedAt);
+            removed.addAll(employeeRepository.countStatGroupsByIdIn(chunk));
+            affected += employeeRepository.removeByIdIn(chunk);
+        }
+        statsRecorder.groupsRemoved(removed);
+        return mutated(affected, changeSeq);
+    }
+
+    private BulkMutationResultDTO update(EmployeeSelectionDTO where, Map<EmployeeField, Object> changes) {
+        if (where == null || (where.getIds() == null) == (where.getPosition() == null)) {
+            throw new BadRequestException("Select employees by either ids or position");
+        }
+        List<List<Long>> chunks = where.getIds() == null ? List.of() : idChunks(where.getIds());
+        long changeSeq = tableVersionRepository.lockNext(TableVersion.EMPLOYEES);
+        // Stats only need the before and after groups when a counted dimension is being set.
+        boolean counted = changes.keySet().stream().anyMatch(STAT_FIELDS::contains);
+        List<Tuple> before = new ArrayList<>();
+        int affected = 0;
+        if (where.getIds() != null) {
+            for (List<Long> chunk : chunks) {
+                if (counted) {
+                    before.addAll(employeeRepository.countStatGroupsByIdIn(chunk));
+                }
+                affected += employeeRepository.updateByIdIn(changes, chunk, changeSeq);
+            }
+        } else {
+            if (counted) {
+                before.addAll(employeeRepository.countStatGroupsByPosition(where.getPosition()));
+            }
+            affected = employeeRepository.updateByPosition(changes, where.getPosition(), changeSeq);
+        }
+        if (counted && affected > 0) {
+            statsRecorder.groupsReplaced(before, employeeRepository.countStatGroupsByChangeSeq(changeSeq));
+        }
+        return mutated(affected, changeSeq);
+    }
+
+    // Without affected rows the counter is left alone, so the locked sequence value is never published.
+    private BulkMutationResultDTO mutated(int affected, long changeSeq) {
+        if (affected > 0) {
+            advance(changeSeq);
+        }
+        return BulkMutationResultDTO.builder().affected(affected).build();
+    }
+
+    // Publishes changeSeq to readers of the counter, and to after-commit listeners such as the filter snapshot.
+    private void advance(long changeSeq) {
+        tableVersionRepository.increment(TableVersion.EMPLOYEES);
+        eventPublisher.publishEvent(new EmployeesChangedEvent(changeSeq));
+    }
+
+    // Bounded IN lists keep each statement within driver parameter limits and the plan cache small.
+    private List<List<Long>> idChunks(List<Long> ids) {
+        if (ids.size() > maxIdsPerRequest) {
+            throw new BadRequestException("At most " + maxIdsPerRequest + " ids can be requested at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Ids must not be null");
+        }
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += idChunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + idChunkSize, distinct.size())));
+        }
+        return chunks;
+    }
+
+    // A term containing the separator would match across the two halves of every search name.
+    private static String searchTerm(String name) {
+        if (name.contains(Employee.SEARCH_SEPARATOR)) {
+            throw new BadRequestException("Search name must not contain '" + Employee.SEARCH_SEPARATOR + "'");
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private void write(Stream<Employee> employees, JsonGenerator generator) throws IOException {
+        for (Iterator<Employee> it = employees.iterator(); it.hasNext(); ) {
+            Employee employee = it.next();
+            employeeJsonWriter.write(generator, employee);
+            // Keep the persistence context from growing with the result set.
+            entityManager.detach(employee);
+        }
+    }
+
+    private void write(Stream<Tuple> rows, List<EmployeeField> fields, JsonGenerator generator) throws IOException {
+        for (Iterator<Tuple> it = rows.iterator(); it.hasNext(); ) {
+            employeeJsonWriter.write(generator, it.next(), fields);
+        }
     }
-}
\ No newline at end of file
+}
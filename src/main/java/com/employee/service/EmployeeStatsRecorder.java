@@ -0,0 +1,93 @@
+package com.employee.service;
+
+import com.employee.model.Employee;
+import com.employee.model.EmployeeStat;
+import com.employee.repository.EmployeeStatRepository;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies headcount deltas to employee_stats inside the calling write transaction. Callers hold the
+ * employees counter lock, so the read-modify-write of each stat row cannot interleave with another writer.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeStatsRecorder {
+
+    private final EmployeeStatRepository statRepository;
+
+    public void employeesAdded(Collection<Employee> employees) {
+        Map<EmployeeStat.Key, Long> deltas = new HashMap<>();
+        employees.forEach(employee -> deltas.merge(EmployeeStat.Key.of(employee), 1L, Long::sum));
+        apply(deltas);
+    }
+
+    public void employeeChanged(EmployeeStat.Key before, EmployeeStat.Key after) {
+        if (!before.equals(after)) {
+            apply(Map.of(before, -1L, after, 1L));
+        }
+    }
+
+    // Moves each employee from its group in before to the one at the same index in after, netting the
+    // moves of all of them first.
+    public void employeesChanged(List<EmployeeStat.Key> before, List<EmployeeStat.Key> after) {
+        Map<EmployeeStat.Key, Long> deltas = new HashMap<>();
+        before.forEach(key -> deltas.merge(key, -1L, Long::sum));
+        after.forEach(key -> deltas.merge(key, 1L, Long::sum));
+        apply(deltas);
+    }
+
+    /**
+     * Moves the employees counted in {@code removed} to the groups counted in {@code added}; groups that
+     * appear in both with the same count are left untouched.
+     */
+    public void groupsReplaced(List<Tuple> removed, List<Tuple> added) {
+        Map<EmployeeStat.Key, Long> deltas = counts(added);
+        counts(removed).forEach((key, count) -> deltas.merge(key, -count, Long::sum));
+        apply(deltas);
+    }
+
+    public void groupsRemoved(List<Tuple> removed) {
+        groupsReplaced(removed, List.of());
+    }
+
+    // Reads the rows of the EmployeeRepository.STAT_GROUPS queries.
+    public static Map<EmployeeStat.Key, Long> counts(List<Tuple> groups) {
+        Map<EmployeeStat.Key, Long> counts = new HashMap<>();
+        for (Tuple group : groups) {
+            EmployeeStat.Key key = new EmployeeStat.Key(group.get("position", String.class),
+                    group.get("gender", String.class), group.get("active", Boolean.class),
+                    group.get("age", Integer.class));
+            counts.merge(key, group.get("headcount", Long.class), Long::sum);
+        }
+        return counts;
+    }
+
+    private void apply(Map<EmployeeStat.Key, Long> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            EmployeeStat stat = statRepository
+                    .findByPositionAndGenderAndActiveAndAge(key.position(), key.gender(), key.active(), key.age())
+                    .orElseGet(() -> EmployeeStat.builder()
+                            .position(key.position())
+                            .gender(key.gender())
+                            .active(key.active())
+                            .age(key.age())
+                            .build());
+            stat.setHeadcount(stat.getHeadcount() + delta);
+            if (stat.getHeadcount() == 0 && stat.getId() != null) {
+                statRepository.delete(stat);
+            } else {
+                statRepository.save(stat);
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeStatsCheckDTO;
+import com.employee.dto.EmployeeStatsDTO;
+
+public interface EmployeeStatsService {
+    EmployeeStatsDTO getStats(int ageBucketWidth);
+
+    EmployeeStatsCheckDTO checkStats();
+
+    EmployeeStatsCheckDTO rebuildStats();
+}
@@ -0,0 +1,149 @@
+package com.employee.service;
+
+import com.employee.dto.EmployeeAgeBucketDTO;
+import com.employee.dto.EmployeeStatCountDTO;
+import com.employee.dto.EmployeeStatMismatchDTO;
+import com.employee.dto.EmployeeStatsCheckDTO;
+import com.employee.dto.EmployeeStatsDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.model.EmployeeStat;
+import com.employee.model.TableVersion;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.EmployeeStatRepository;
+import com.employee.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeStatsServiceImpl implements EmployeeStatsService {
+
+    private static final Comparator<EmployeeStatCountDTO> COUNT_ORDER =
+            Comparator.comparingLong(EmployeeStatCountDTO::getCount).reversed()
+                    .thenComparing(EmployeeStatCountDTO::getValue, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<EmployeeAgeBucketDTO> AGE_ORDER =
+            Comparator.comparing(EmployeeAgeBucketDTO::getMinAge, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final EmployeeStatRepository statRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TableVersionRepository tableVersionRepository;
+
+    // Reads one row per combination of position, gender, active and age, however many employees there are.
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeStatsDTO getStats(int ageBucketWidth) {
+        if (ageBucketWidth < 1) {
+            throw new BadRequestException("Age bucket width must be at least 1");
+        }
+        List<EmployeeStat> stats = statRepository.findAll();
+        long total = 0;
+        long active = 0;
+        long withAge = 0;
+        long ageSum = 0;
+        Map<Integer, Long> buckets = new HashMap<>();
+        for (EmployeeStat stat : stats) {
+            total += stat.getHeadcount();
+            if (stat.isActive()) {
+                active += stat.getHeadcount();
+            }
+            Integer bucket = null;
+            if (stat.getAge() != null) {
+                withAge += stat.getHeadcount();
+                ageSum += stat.getAge() * stat.getHeadcount();
+                bucket = Math.floorDiv(stat.getAge(), ageBucketWidth) * ageBucketWidth;
+            }
+            buckets.merge(bucket, stat.getHeadcount(), Long::sum);
+        }
+        return EmployeeStatsDTO.builder()
+                .total(total)
+                .active(active)
+                .inactive(total - active)
+                .byPosition(countBy(stats, EmployeeStat::getPosition))
+                .byGender(countBy(stats, EmployeeStat::getGender))
+                .ageBuckets(buckets.entrySet().stream()
+                        .map(bucket -> EmployeeAgeBucketDTO.builder()
+                                .minAge(bucket.getKey())
+                                .maxAge(bucket.getKey() == null ? null : bucket.getKey() + ageBucketWidth - 1)
+                                .count(bucket.getValue())
+                                .build())
+                        .sorted(AGE_ORDER)
+                        .toList())
+                .averageAge(withAge == 0 ? null : (double) ageSum / withAge)
+                .build();
+    }
+
+    // Holds the writers lock for one grouped scan of employees, so the comparison sees a single point in time.
+    @Override
+    @Transactional
+    public EmployeeStatsCheckDTO checkStats() {
+        tableVersionRepository.lockByTableName(TableVersion.EMPLOYEES);
+        return check(EmployeeStatsRecorder.counts(employeeRepository.countStatGroups()));
+    }
+
+    // Recounts from the employees table; the result describes the differences that were repaired.
+    @Override
+    @Transactional
+    public EmployeeStatsCheckDTO rebuildStats() {
+        tableVersionRepository.lockByTableName(TableVersion.EMPLOYEES);
+        Map<EmployeeStat.Key, Long> expected = EmployeeStatsRecorder.counts(employeeRepository.countStatGroups());
+        EmployeeStatsCheckDTO result = check(expected);
+        statRepository.deleteAllInBatch();
+        statRepository.saveAll(expected.entrySet().stream()
+                .map(group -> EmployeeStat.builder()
+                        .position(group.getKey().position())
+                        .gender(group.getKey().gender())
+                        .active(group.getKey().active())
+                        .age(group.getKey().age())
+                        .headcount(group.getValue())
+                        .build())
+                .toList());
+        return result;
+    }
+
+    private EmployeeStatsCheckDTO check(Map<EmployeeStat.Key, Long> expected) {
+        Map<EmployeeStat.Key, Long> actual = new HashMap<>();
+        statRepository.findAll().forEach(stat -> actual.merge(stat.key(), stat.getHeadcount(), Long::sum));
+        Set<EmployeeStat.Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        List<EmployeeStatMismatchDTO> mismatches = new ArrayList<>();
+        for (EmployeeStat.Key key : keys) {
+            long expectedCount = expected.getOrDefault(key, 0L);
+            long actualCount = actual.getOrDefault(key, 0L);
+            if (expectedCount != actualCount) {
+                mismatches.add(EmployeeStatMismatchDTO.builder()
+                        .position(key.position())
+                        .gender(key.gender())
+                        .active(key.active())
+                        .age(key.age())
+                        .expected(expectedCount)
+                        .actual(actualCount)
+                        .build());
+            }
+        }
+        return EmployeeStatsCheckDTO.builder()
+                .consistent(mismatches.isEmpty())
+                .employees(expected.values().stream().mapToLong(Long::longValue).sum())
+                .mismatches(mismatches)
+                .build();
+    }
+
+    private static List<EmployeeStatCountDTO> countBy(List<EmployeeStat> stats, Function<EmployeeStat, String> dimension) {
+        Map<String, Long> counts = new HashMap<>();
+        stats.forEach(stat -> counts.merge(dimension.apply(stat), stat.getHeadcount(), Long::sum));
+        return counts.entrySet().stream()
+                .map(count -> EmployeeStatCountDTO.builder().value(count.getKey()).count(count.getValue()).build())
+                .sorted(COUNT_ORDER)
+                .toList();
+    }
+}
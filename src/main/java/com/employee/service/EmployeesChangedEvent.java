@@ -0,0 +1,7 @@
+package com.employee.service;
+
+/**
+ * Published by every write transaction on the employees table; listeners run after it commits.
+ */
+public record EmployeesChangedEvent(long changeSeq) {
+}
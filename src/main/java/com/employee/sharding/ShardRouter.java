@@ -0,0 +1,210 @@
+package com.employee.sharding;
+
+import com.employee.metrics.StatementCounter;
+import com.employee.model.Employee;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Partitions employees across spring.datasource (shard 0) and the databases in
+ * {@code employee.datasource.shard-urls}. Ids stay globally unique without coordination: each shard's
+ * employees_seq only hands out the blocks of {@link Employee#ID_ALLOCATION_SIZE} ids that belong to it,
+ * block b going to shard b % shards, so the shard of any id follows from the id alone. The shard a
+ * thread works on is set with {@link #onShard}; connections and the Hibernate tenant, which keeps each
+ * shard's id blocks apart, follow it. With no shard URLs configured there is a single shard.
+ */
+@Slf4j
+@Component
+public class ShardRouter implements SmartInitializingSingleton {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final String SEQUENCE_INCREMENT_QUERY =
+            "select increment from information_schema.sequences where upper(sequence_name) = 'EMPLOYEES_SEQ'";
+
+    // Shards 1 and up; shard 0 is the auto-configured data source.
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile DataSource primary;
+
+    public ShardRouter(@Value("${employee.datasource.shard-urls:}") List<String> shardUrls,
+                       @Value("${employee.datasource.shard-pool-size:10}") int poolSize,
+                       @Value("${employee.datasource.replica-urls:}") List<String> replicaUrls,
+                       @Value("${spring.datasource.username:}") String username,
+                       @Value("${spring.datasource.password:}") String password,
+                       @Value("${employee.changes.enabled:true}") boolean changesEnabled,
+                       @Value("${employee.snapshot.enabled:true}") boolean snapshotEnabled,
+                       @Value("${employee.dump.file:}") String dumpFile,
+                       MeterRegistry meterRegistry) {
+        for (String url : shardUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.strip());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setMetricRegistry(meterRegistry);
+            pools.add(pool);
+        }
+        if (isEnabled() && replicaUrls.stream().anyMatch(url -> !url.isBlank())) {
+            close();
+            throw new IllegalStateException(
+                    "employee.datasource.shard-urls cannot be combined with employee.datasource.replica-urls");
+        }
+        // These follow one database's change sequence or copy one database, so a sharded instance has them off.
+        List<String> singleDatabase = new ArrayList<>();
+        if (changesEnabled) {
+            singleDatabase.add("employee.changes.enabled");
+        }
+        if (snapshotEnabled) {
+            singleDatabase.add("employee.snapshot.enabled");
+        }
+        if (!dumpFile.isBlank()) {
+            singleDatabase.add("employee.dump.file");
+        }
+        if (isEnabled() && !singleDatabase.isEmpty()) {
+            close();
+            throw new IllegalStateException("employee.datasource.shard-urls cannot be combined with "
+                    + String.join(", ", singleDatabase));
+        }
+    }
+
+    public boolean isEnabled() {
+        return !pools.isEmpty();
+    }
+
+    public int getShardCount() {
+        return pools.size() + 1;
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(Math.floorDiv(id - 1, Employee.ID_ALLOCATION_SIZE), (long) getShardCount());
+    }
+
+    // The data source JPA and JDBC use. The further shards get the prod schema here, before anything
+    // reads them; shard 0 keeps whatever creates its schema today.
+    public DataSource route(DataSource primaryDataSource) {
+        this.primary = primaryDataSource;
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql"));
+        pools.forEach(schema::execute);
+        return new ShardRoutingDataSource(this);
+    }
+
+    public static int currentShard() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    // Names the shard a thread works on as its Hibernate tenant. Hibernate's pooled id optimizer keeps its
+    // current block per tenant, so an id block fetched from one shard's sequence is never used on another.
+    public CurrentTenantIdentifierResolver<String> tenantResolver() {
+        return new CurrentTenantIdentifierResolver<>() {
+            @Override
+            public String resolveCurrentTenantIdentifier() {
+                return "shard-" + currentShard();
+            }
+
+            @Override
+            public boolean validateExistingCurrentSessions() {
+                return false;
+            }
+        };
+    }
+
+    // Runs the action with this thread's connections and transactions on the given shard.
+    public static <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // Runs the action for every shard at once, each on its own thread inside that shard, and returns
+    // the results in shard order. Once all have finished, the first failure is rethrown. Statements the
+    // actions run count toward the calling request.
+    public <T> List<T> onEveryShard(IntFunction<T> action) {
+        List<CompletableFuture<T>> results = new ArrayList<>(getShardCount());
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            int target = shard;
+            results.add(CompletableFuture.supplyAsync(
+                    StatementCounter.propagate(() -> onShard(target, () -> action.apply(target))), executor));
+        }
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+
+    // Points every shard's employees_seq at its own id blocks. This renumbers the sequence, so it is only
+    // done while the shard holds no employees; afterwards the stride is found in place and left alone.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isEnabled()) {
+            return;
+        }
+        long stride = (long) Employee.ID_ALLOCATION_SIZE * getShardCount();
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource(shard));
+            Long increment = jdbcTemplate.queryForObject(SEQUENCE_INCREMENT_QUERY, Long.class);
+            if (increment != null && increment == stride) {
+                continue;
+            }
+            Long employees = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+            if (employees != null && employees > 0) {
+                throw new IllegalStateException("Shard " + shard + " already holds employees numbered for another"
+                        + " shard count than " + getShardCount() + "; resharding existing data is not supported");
+            }
+            // Hibernate's pooled optimizer treats a sequence value as the last id of its block.
+            long firstBlockEnd = (long) Employee.ID_ALLOCATION_SIZE * (shard + 1);
+            jdbcTemplate.execute("alter sequence employees_seq restart with " + firstBlockEnd
+                    + " increment by " + stride);
+            log.info("Shard {} allocates ids in blocks of {} every {}", shard, Employee.ID_ALLOCATION_SIZE, stride);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.close();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    DataSource dataSource(int shard) {
+        return shard == 0 ? primary : pools.get(shard - 1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.employee.sharding;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections of the shard the calling thread works on, as set by {@link ShardRouter#onShard}.
+ * Unwrapping reaches shard 0's pool, so the auto-configured pool metrics still bind.
+ */
+class ShardRoutingDataSource extends AbstractDataSource {
+
+    private final ShardRouter router;
+
+    ShardRoutingDataSource(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return router.dataSource(ShardRouter.currentShard()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return router.dataSource(ShardRouter.currentShard()).getConnection(username, password);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : router.dataSource(0).unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || router.dataSource(0).isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,23 @@
+package com.employee.sharding;
+
+import com.employee.service.EmployeeChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Drops old tombstones on shards 1 and up on the change service's own schedule, which covers shard 0.
+@Component
+@RequiredArgsConstructor
+public class ShardTombstoneCompactor {
+
+    private final ShardRouter shardRouter;
+    private final EmployeeChangeService employeeChangeService;
+
+    @Scheduled(fixedDelayString = "${employee.changes.compaction-interval:PT1H}",
+            initialDelayString = "${employee.changes.compaction-interval:PT1H}")
+    public void compactTombstones() {
+        for (int shard = 1; shard < shardRouter.getShardCount(); shard++) {
+            ShardRouter.onShard(shard, employeeChangeService::compactTombstones);
+        }
+    }
+}
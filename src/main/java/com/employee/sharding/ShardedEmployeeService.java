@@ -0,0 +1,298 @@
+package com.employee.sharding;
+
+import com.employee.dto.BulkMutationResultDTO;
+import com.employee.dto.EmployeeBulkUpdateDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeeLookupDTO;
+import com.employee.dto.EmployeePageDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.mapper.EmployeeJsonWriter;
+import com.employee.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Spreads the {@link EmployeeService} operations over the shards, running the shard-local service inside
+ * each. Operations on one id go to the shard that owns it; creates are dealt out round-robin; lists,
+ * pages and searches run on every shard at once and are merged in id order. Each shard commits its own
+ * part of a multi-shard write, so such a write is atomic per shard only.
+ */
+public class ShardedEmployeeService implements EmployeeService {
+
+    private static final Comparator<EmployeeDTO> ID_ORDER = Comparator.comparing(EmployeeDTO::getId);
+    private static final List<EmployeeField> ALL_FIELDS = List.of(EmployeeField.values());
+
+    private final EmployeeService shardService;
+    private final ShardRouter shardRouter;
+    private final EmployeeJsonWriter employeeJsonWriter;
+    private final int maxPageSize;
+    private final int maxIdsPerRequest;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedEmployeeService(EmployeeService shardService, ShardRouter shardRouter,
+                                  EmployeeJsonWriter employeeJsonWriter, int maxPageSize, int maxIdsPerRequest) {
+        this.shardService = shardService;
+        this.shardRouter = shardRouter;
+        this.employeeJsonWriter = employeeJsonWriter;
+        this.maxPageSize = maxPageSize;
+        this.maxIdsPerRequest = maxIdsPerRequest;
+    }
+
+    @Override
+    public List<EmployeeDTO> getAllEmployees() {
+        return merge(shardRouter.onEveryShard(shard -> shardService.getAllEmployees()));
+    }
+
+    // Every shard returns its first page after the cursor; the global page is the lowest ids among them.
+    @Override
+    public EmployeePageDTO getEmployeesPage(Long cursor, int size) {
+        List<EmployeePageDTO> pages = shardRouter.onEveryShard(shard -> shardService.getEmployeesPage(cursor, size));
+        int pageSize = Math.min(size, maxPageSize);
+        List<EmployeeDTO> merged = merge(pages.stream().map(EmployeePageDTO::getContent).toList());
+        boolean hasNext = merged.size() > pageSize || pages.stream().anyMatch(page -> page.getNextCursor() != null);
+        List<EmployeeDTO> content = List.copyOf(merged.subList(0, Math.min(pageSize, merged.size())));
+        return EmployeePageDTO.builder()
+                .content(content)
+                .nextCursor(hasNext && !content.isEmpty() ? content.get(content.size() - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    public void writeAllEmployees(JsonGenerator generator) throws IOException {
+        writeAllEmployees(ALL_FIELDS, generator);
+    }
+
+    // Streams a k-way merge of the shards' id-ordered pages, holding one page per shard at a time.
+    @Override
+    public void writeAllEmployees(List<EmployeeField> fields, JsonGenerator generator) throws IOException {
+        List<EmployeePageDTO> firstPages = shardRouter.onEveryShard(shard -> shardService.getEmployeesPage(null, maxPageSize));
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(Comparator.comparing(ShardCursor::head, ID_ORDER));
+        for (int shard = 0; shard < firstPages.size(); shard++) {
+            ShardCursor cursor = new ShardCursor(shard, firstPages.get(shard));
+            if (cursor.hasHead()) {
+                heads.add(cursor);
+            }
+        }
+        while (!heads.isEmpty()) {
+            ShardCursor cursor = heads.poll();
+            employeeJsonWriter.write(generator, cursor.head(), fields);
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+    }
+
+    @Override
+    public EmployeeDTO getEmployeeById(Long id) {
+        return ShardRouter.onShard(shardOf(id), () -> shardService.getEmployeeById(id));
+    }
+
+    @Override
+    public List<EmployeeLookupDTO> getEmployeesByIds(List<Long> ids) {
+        Map<Integer, List<Long>> byShard = byShard(ids);
+        Map<Long, EmployeeLookupDTO> found = new HashMap<>(ids.size() * 2);
+        shardRouter.onEveryShard(shard -> byShard.containsKey(shard)
+                        ? shardService.getEmployeesByIds(byShard.get(shard))
+                        : List.<EmployeeLookupDTO>of())
+                .forEach(lookups -> lookups.forEach(lookup -> found.put(lookup.getId(), lookup)));
+        return ids.stream().map(found::get).toList();
+    }
+
+    @Override
+    public Long getEmployeeVersion(Long id) {
+        return ShardRouter.onShard(shardOf(id), () -> shardService.getEmployeeVersion(id));
+    }
+
+    // Each shard counts its own writes, so the sum still changes whenever any shard's data does.
+    @Override
+    public long getEmployeesVersion() {
+        return shardRouter.onEveryShard(shard -> shardService.getEmployeesVersion())
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public List<EmployeeDTO> searchEmployeesByName(String name) {
+        return merge(shardRouter.onEveryShard(shard -> shardService.searchEmployeesByName(name)));
+    }
+
+    @Override
+    public void writeEmployeesByName(String name, JsonGenerator generator) throws IOException {
+        writeEmployeesByName(name, ALL_FIELDS, generator);
+    }
+
+    // Matches are gathered whole from every shard, since searches have no cursor to merge by.
+    @Override
+    public void writeEmployeesByName(String name, List<EmployeeField> fields, JsonGenerator generator) throws IOException {
+        for (EmployeeDTO employee : searchEmployeesByName(name)) {
+            employeeJsonWriter.write(generator, employee, fields);
+        }
+    }
+
+    @Override
+    public EmployeeDTO createEmployee(EmployeeDTO employeeCreateDTO) {
+        int shard = Math.floorMod(nextShard.getAndIncrement(), shardRouter.getShardCount());
+        return ShardRouter.onShard(shard, () -> shardService.createEmployee(employeeCreateDTO));
+    }
+
+    // Deals the employees out round-robin, creates each shard's share in parallel and returns them in
+    // request order.
+    @Override
+    public List<EmployeeDTO> createMultipleEmployees(List<EmployeeDTO> employees) {
+        int shards = shardRouter.getShardCount();
+        int first = Math.floorMod(nextShard.getAndAdd(employees.size()), shards);
+        List<List<EmployeeDTO>> shares = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            shares.add(new ArrayList<>());
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            shares.get((first + i) % shards).add(employees.get(i));
+        }
+        List<List<EmployeeDTO>> created = shardRouter.onEveryShard(shard -> shares.get(shard).isEmpty()
+                ? List.<EmployeeDTO>of()
+                : shardService.createMultipleEmployees(shares.get(shard)));
+        List<EmployeeDTO> result = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            int shard = (first + i) % shards;
+            result.add(created.get(shard).get(i / shards));
+        }
+        return result;
+    }
+
+    @Override
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeUpdateDTO) {
+        return ShardRouter.onShard(shardOf(id), () -> shardService.updateEmployee(id, employeeUpdateDTO));
+    }
+
+    @Override
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeUpdateDTO, Long expectedVersion) {
+        return ShardRouter.onShard(shardOf(id), () -> shardService.updateEmployee(id, employeeUpdateDTO, expectedVersion));
+    }
+
+    @Override
+    public List<EmployeeDTO> updateEmployees(Map<Long, EmployeeDTO> updates) {
+        Map<Integer, List<Long>> byShard = byShard(List.copyOf(updates.keySet()));
+        List<EmployeeDTO> updated = new ArrayList<>();
+        shardRouter.onEveryShard(shard -> {
+                    if (!byShard.containsKey(shard)) {
+                        return List.<EmployeeDTO>of();
+                    }
+                    Map<Long, EmployeeDTO> share = new HashMap<>();
+                    byShard.get(shard).forEach(id -> share.put(id, updates.get(id)));
+                    return shardService.updateEmployees(share);
+                })
+                .forEach(updated::addAll);
+        return updated;
+    }
+
+    @Override
+    public void deleteEmployee(Long id) {
+        ShardRouter.onShard(shardOf(id), () -> {
+            shardService.deleteEmployee(id);
+            return null;
+        });
+    }
+
+    @Override
+    public BulkMutationResultDTO updateEmployees(EmployeeBulkUpdateDTO request) {
+        return mutate(request.getWhere(), where -> shardService.updateEmployees(
+                EmployeeBulkUpdateDTO.builder().where(where).set(request.getSet()).build()));
+    }
+
+    @Override
+    public BulkMutationResultDTO deactivateEmployees(EmployeeSelectionDTO where) {
+        return mutate(where, shardService::deactivateEmployees);
+    }
+
+    @Override
+    public BulkMutationResultDTO deleteEmployees(List<Long> ids) {
+        return mutate(EmployeeSelectionDTO.builder().ids(ids).build(),
+                where -> shardService.deleteEmployees(where.getIds()));
+    }
+
+    // Selections by id go to the shards owning them; anything else, including selections the shard-local
+    // service rejects, goes to every shard.
+    private BulkMutationResultDTO mutate(EmployeeSelectionDTO where,
+                                         Function<EmployeeSelectionDTO, BulkMutationResultDTO> mutation) {
+        List<BulkMutationResultDTO> results;
+        if (where == null || where.getIds() == null || where.getPosition() != null) {
+            results = shardRouter.onEveryShard(shard -> mutation.apply(where));
+        } else {
+            Map<Integer, List<Long>> byShard = byShard(where.getIds());
+            results = shardRouter.onEveryShard(shard -> byShard.containsKey(shard) || (byShard.isEmpty() && shard == 0)
+                    ? mutation.apply(EmployeeSelectionDTO.builder().ids(byShard.getOrDefault(shard, List.of())).build())
+                    : BulkMutationResultDTO.builder().build());
+        }
+        return BulkMutationResultDTO.builder()
+                .affected(results.stream().mapToLong(BulkMutationResultDTO::getAffected).sum())
+                .build();
+    }
+
+    // Same limits as the shard-local service applies, checked on the whole request before it is split.
+    private Map<Integer, List<Long>> byShard(List<Long> ids) {
+        if (ids.size() > maxIdsPerRequest) {
+            throw new BadRequestException("At most " + maxIdsPerRequest + " ids can be requested at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Ids must not be null");
+        }
+        Map<Integer, List<Long>> byShard = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            byShard.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        return byShard;
+    }
+
+    private int shardOf(Long id) {
+        return id == null ? 0 : shardRouter.shardOf(id);
+    }
+
+    private static List<EmployeeDTO> merge(List<List<EmployeeDTO>> perShard) {
+        List<EmployeeDTO> merged = new ArrayList<>();
+        perShard.forEach(merged::addAll);
+        merged.sort(ID_ORDER);
+        return merged;
+    }
+
+    // Walks one shard's employees in id order, a page at a time.
+    private final class ShardCursor {
+        private final int shard;
+        private EmployeePageDTO page;
+        private int index;
+
+        private ShardCursor(int shard, EmployeePageDTO page) {
+            this.shard = shard;
+            this.page = page;
+        }
+
+        private boolean hasHead() {
+            return index < page.getContent().size();
+        }
+
+        private EmployeeDTO head() {
+            return page.getContent().get(index);
+        }
+
+        private boolean advance() {
+            index++;
+            if (!hasHead() && page.getNextCursor() != null) {
+                Long after = page.getNextCursor();
+                page = ShardRouter.onShard(shard, () -> shardService.getEmployeesPage(after, maxPageSize));
+                index = 0;
+            }
+            return hasHead();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.employee.sharding;
+
+import com.employee.dto.EmployeeAgeBucketDTO;
+import com.employee.dto.EmployeeStatCountDTO;
+import com.employee.dto.EmployeeStatMismatchDTO;
+import com.employee.dto.EmployeeStatsCheckDTO;
+import com.employee.dto.EmployeeStatsDTO;
+import com.employee.service.EmployeeStatsService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Adds up the statistics every shard keeps for its own employees. Checks and rebuilds run on each shard
+ * under that shard's writers lock, so each shard's part is consistent in itself.
+ */
+public class ShardedEmployeeStatsService implements EmployeeStatsService {
+
+    private static final Comparator<EmployeeStatCountDTO> COUNT_ORDER =
+            Comparator.comparingLong(EmployeeStatCountDTO::getCount).reversed()
+                    .thenComparing(EmployeeStatCountDTO::getValue, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<EmployeeAgeBucketDTO> AGE_ORDER =
+            Comparator.comparing(EmployeeAgeBucketDTO::getMinAge, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final EmployeeStatsService shardService;
+    private final ShardRouter shardRouter;
+
+    public ShardedEmployeeStatsService(EmployeeStatsService shardService, ShardRouter shardRouter) {
+        this.shardService = shardService;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public EmployeeStatsDTO getStats(int ageBucketWidth) {
+        List<EmployeeStatsDTO> perShard = shardRouter.onEveryShard(shard -> shardService.getStats(ageBucketWidth));
+        long total = 0;
+        long active = 0;
+        long withAge = 0;
+        double ageSum = 0;
+        Map<Integer, EmployeeAgeBucketDTO> buckets = new HashMap<>();
+        for (EmployeeStatsDTO stats : perShard) {
+            total += stats.getTotal();
+            active += stats.getActive();
+            long shardWithAge = stats.getAgeBuckets().stream()
+                    .filter(bucket -> bucket.getMinAge() != null)
+                    .mapToLong(EmployeeAgeBucketDTO::getCount)
+                    .sum();
+            if (stats.getAverageAge() != null) {
+                withAge += shardWithAge;
+                ageSum += stats.getAverageAge() * shardWithAge;
+            }
+            stats.getAgeBuckets().forEach(bucket -> buckets.merge(bucket.getMinAge(), bucket,
+                    (a, b) -> EmployeeAgeBucketDTO.builder()
+                            .minAge(a.getMinAge())
+                            .maxAge(a.getMaxAge())
+                            .count(a.getCount() + b.getCount())
+                            .build()));
+        }
+        return EmployeeStatsDTO.builder()
+                .total(total)
+                .active(active)
+                .inactive(total - active)
+                .byPosition(sumCounts(perShard, EmployeeStatsDTO::getByPosition))
+                .byGender(sumCounts(perShard, EmployeeStatsDTO::getByGender))
+                .ageBuckets(buckets.values().stream().sorted(AGE_ORDER).toList())
+                .averageAge(withAge == 0 ? null : ageSum / withAge)
+                .build();
+    }
+
+    @Override
+    public EmployeeStatsCheckDTO checkStats() {
+        return combine(shardRouter.onEveryShard(shard -> shardService.checkStats()));
+    }
+
+    @Override
+    public EmployeeStatsCheckDTO rebuildStats() {
+        return combine(shardRouter.onEveryShard(shard -> shardService.rebuildStats()));
+    }
+
+    // Employees live on exactly one shard, so per-shard mismatches never overlap and are simply listed.
+    private static EmployeeStatsCheckDTO combine(List<EmployeeStatsCheckDTO> perShard) {
+        List<EmployeeStatMismatchDTO> mismatches = new ArrayList<>();
+        perShard.forEach(check -> mismatches.addAll(check.getMismatches()));
+        return EmployeeStatsCheckDTO.builder()
+                .consistent(mismatches.isEmpty())
+                .employees(perShard.stream().mapToLong(EmployeeStatsCheckDTO::getEmployees).sum())
+                .mismatches(mismatches)
+                .build();
+    }
+
+    private static List<EmployeeStatCountDTO> sumCounts(List<EmployeeStatsDTO> perShard,
+                                                        Function<EmployeeStatsDTO, List<EmployeeStatCountDTO>> dimension) {
+        Map<String, Long> counts = new HashMap<>();
+        perShard.forEach(stats -> dimension.apply(stats)
+                .forEach(count -> counts.merge(count.getValue(), count.getCount(), Long::sum)));
+        return counts.entrySet().stream()
+                .map(count -> EmployeeStatCountDTO.builder().value(count.getKey()).count(count.getValue()).build())
+                .sorted(COUNT_ORDER)
+                .toList();
+    }
+}
@@ -0,0 +1,344 @@
+package com.employee.snapshot;
+
+import com.employee.dto.EmployeeFilterDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Filter columns of the employees table, one array slot per row in id order. Flags and dictionary
+ * values are kept as bitmaps of 64-slot words so a filter can combine them a word at a time.
+ * Rows whose ids arrive below the highest one stored, as they do when several instances hand out ids
+ * from their own blocks, are appended to an unsorted tail that compact() merges back into order.
+ * Not thread-safe; {@link EmployeeSnapshot} guards it with a read-write lock.
+ */
+final class EmployeeColumns {
+
+    static final int NULL = Integer.MIN_VALUE;
+
+    // Filters run on blocks of 64K rows, in parallel when there is more than one block.
+    private static final int BLOCK_WORDS = 1024;
+    // Out-of-order rows kept in the tail before compaction sorts them in, at the least.
+    private static final int MIN_TAIL_ROWS = 1024;
+
+    private long[] ids;
+    private int[] ages;
+    private int[] birthDays;
+    private int[] positions;
+    private int[] genders;
+    private long[] active;
+    private long[] live;
+    private final Dictionary positionDictionary = new Dictionary();
+    private final Dictionary genderDictionary = new Dictionary();
+    private final Map<Long, Integer> tailSlots = new HashMap<>();
+    private int size;
+    // Slots below this are in id order; the rest form the tail, found through tailSlots.
+    private int sorted;
+    private int liveCount;
+
+    EmployeeColumns(int capacity) {
+        int initial = Math.max(capacity, 64);
+        ids = new long[initial];
+        ages = new int[initial];
+        birthDays = new int[initial];
+        positions = new int[initial];
+        genders = new int[initial];
+        active = new long[words(initial)];
+        live = new long[words(initial)];
+    }
+
+    // Inserts or overwrites the row for id.
+    void upsert(long id, Integer age, LocalDate birthDate, String position, String gender, boolean isActive) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            boolean inOrder = sorted == size && (size == 0 || id > ids[size - 1]);
+            slot = append(id);
+            if (inOrder) {
+                sorted = size;
+            } else {
+                tailSlots.put(id, slot);
+            }
+        } else if (get(live, slot)) {
+            positionDictionary.remove(positions[slot], slot);
+            genderDictionary.remove(genders[slot], slot);
+            liveCount--;
+        }
+        ages[slot] = age == null ? NULL : age;
+        birthDays[slot] = birthDate == null ? NULL : (int) birthDate.toEpochDay();
+        positions[slot] = positionDictionary.add(position, slot, ids.length);
+        genders[slot] = genderDictionary.add(gender, slot, ids.length);
+        set(active, slot, isActive);
+        set(live, slot, true);
+        liveCount++;
+    }
+
+    void remove(long id) {
+        int slot = slotOf(id);
+        if (slot >= 0 && get(live, slot)) {
+            positionDictionary.remove(positions[slot], slot);
+            genderDictionary.remove(genders[slot], slot);
+            set(active, slot, false);
+            set(live, slot, false);
+            liveCount--;
+        }
+    }
+
+    int liveCount() {
+        return liveCount;
+    }
+
+    // Slots of deleted rows are only reclaimed, and the tail only sorted in, by compacting into a new instance.
+    boolean needsCompaction() {
+        return size - liveCount > Math.max(liveCount, 1024) || size - sorted > Math.max(liveCount >> 6, MIN_TAIL_ROWS);
+    }
+
+    // Copies the live rows in id order, merging the sorted tail into the rest.
+    EmployeeColumns compact() {
+        EmployeeColumns compacted = new EmployeeColumns(liveCount);
+        int[] tail = sortedTail(live);
+        int t = 0;
+        for (int slot = 0; slot < sorted; slot++) {
+            if (get(live, slot)) {
+                for (; t < tail.length && ids[tail[t]] < ids[slot]; t++) {
+                    copy(tail[t], compacted);
+                }
+                copy(slot, compacted);
+            }
+        }
+        for (; t < tail.length; t++) {
+            copy(tail[t], compacted);
+        }
+        return compacted;
+    }
+
+    /**
+     * One pass over the bitmap words: the equality criteria are intersected word by word, and the age
+     * and birth date ranges are only checked for the rows still set in the word.
+     */
+    Result filter(EmployeeFilterDTO filter) {
+        long[][] positionRows = filter.getPositions() == null ? null : positionDictionary.rows(filter.getPositions());
+        long[][] genderRows = filter.getGenders() == null ? null : genderDictionary.rows(filter.getGenders());
+        Boolean isActive = filter.getActive();
+        RangeCheck check = new RangeCheck(filter);
+        int wordCount = words(size);
+        long[] matches = new long[wordCount];
+        int blocks = (wordCount + BLOCK_WORDS - 1) / BLOCK_WORDS;
+        IntStream range = IntStream.range(0, blocks);
+        (blocks > 1 ? range.parallel() : range).forEach(block -> {
+            int end = Math.min(wordCount, (block + 1) * BLOCK_WORDS);
+            for (int w = block * BLOCK_WORDS; w < end; w++) {
+                long bits = live[w];
+                if (positionRows != null) {
+                    bits &= union(positionRows, w);
+                }
+                if (genderRows != null) {
+                    bits &= union(genderRows, w);
+                }
+                if (isActive != null) {
+                    bits &= isActive ? active[w] : ~active[w];
+                }
+                if (bits != 0 && check.any) {
+                    bits = check.keep(bits, w << 6);
+                }
+                matches[w] = bits;
+            }
+        });
+        int count = 0;
+        for (long word : matches) {
+            count += Long.bitCount(word);
+        }
+        // Matches in the sorted slots come in id order; those in the tail are merged in by id.
+        long[] firstIds = new long[Math.min(count, filter.getLimit())];
+        int[] tail = sortedTail(matches);
+        int found = 0;
+        int t = 0;
+        for (int w = 0; w < words(sorted) && found < firstIds.length; w++) {
+            long bits = matches[w];
+            if (w == sorted >>> 6) {
+                bits &= (1L << sorted) - 1;
+            }
+            for (; bits != 0 && found < firstIds.length; bits &= bits - 1) {
+                long id = ids[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                for (; t < tail.length && ids[tail[t]] < id && found < firstIds.length; t++) {
+                    firstIds[found++] = ids[tail[t]];
+                }
+                if (found < firstIds.length) {
+                    firstIds[found++] = id;
+                }
+            }
+        }
+        for (; t < tail.length && found < firstIds.length; t++) {
+            firstIds[found++] = ids[tail[t]];
+        }
+        return new Result(count, firstIds);
+    }
+
+    // Arrays are sized to capacity, so this is what the snapshot holds rather than what it uses.
+    long bytes() {
+        long bytes = (long) ids.length * Long.BYTES + 4L * ages.length * Integer.BYTES;
+        bytes += 2L * active.length * Long.BYTES;
+        return bytes + positionDictionary.bytes() + genderDictionary.bytes();
+    }
+
+    record Result(int count, long[] ids) {
+    }
+
+    private int slotOf(long id) {
+        int slot = Arrays.binarySearch(ids, 0, sorted, id);
+        if (slot < 0 && size > sorted) {
+            Integer tail = tailSlots.get(id);
+            return tail == null ? -1 : tail;
+        }
+        return slot;
+    }
+
+    // The tail slots set in a bitmap, ordered by id.
+    private int[] sortedTail(long[] bitmap) {
+        return IntStream.range(sorted, size)
+                .filter(slot -> get(bitmap, slot))
+                .boxed()
+                .sorted(Comparator.comparingLong(slot -> ids[slot]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private void copy(int slot, EmployeeColumns target) {
+        target.upsert(ids[slot], ages[slot] == NULL ? null : ages[slot],
+                birthDays[slot] == NULL ? null : LocalDate.ofEpochDay(birthDays[slot]),
+                positionDictionary.value(positions[slot]), genderDictionary.value(genders[slot]),
+                get(active, slot));
+    }
+
+    private int append(long id) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            birthDays = Arrays.copyOf(birthDays, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+            active = Arrays.copyOf(active, words(capacity));
+            live = Arrays.copyOf(live, words(capacity));
+        }
+        ids[size] = id;
+        return size++;
+    }
+
+    private static int words(int slots) {
+        return (slots + 63) >>> 6;
+    }
+
+    private static boolean get(long[] bitmap, int slot) {
+        return (bitmap[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private static void set(long[] bitmap, int slot, boolean value) {
+        if (value) {
+            bitmap[slot >>> 6] |= 1L << slot;
+        } else {
+            bitmap[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    private static long union(long[][] bitmaps, int word) {
+        long bits = 0;
+        for (long[] bitmap : bitmaps) {
+            if (word < bitmap.length) {
+                bits |= bitmap[word];
+            }
+        }
+        return bits;
+    }
+
+    private final class RangeCheck {
+        private final boolean any;
+        private final int minAge;
+        private final int maxAge;
+        private final int minBirthDay;
+        private final int maxBirthDay;
+
+        // Open ends default to the widest range that still excludes NULL, so one comparison pair covers both.
+        private RangeCheck(EmployeeFilterDTO filter) {
+            boolean byAge = filter.getMinAge() != null || filter.getMaxAge() != null;
+            boolean byBirthDay = filter.getBornFrom() != null || filter.getBornTo() != null;
+            any = byAge || byBirthDay;
+            minAge = !byAge ? NULL : filter.getMinAge() == null ? NULL + 1 : filter.getMinAge();
+            maxAge = filter.getMaxAge() == null ? Integer.MAX_VALUE : filter.getMaxAge();
+            minBirthDay = !byBirthDay ? NULL
+                    : filter.getBornFrom() == null ? NULL + 1 : (int) filter.getBornFrom().toEpochDay();
+            maxBirthDay = filter.getBornTo() == null ? Integer.MAX_VALUE : (int) filter.getBornTo().toEpochDay();
+        }
+
+        // Clears the bits of rows outside the ranges.
+        long keep(long word, int firstSlot) {
+            long kept = word;
+            for (long bits = word; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                int age = ages[firstSlot + bit];
+                int birthDay = birthDays[firstSlot + bit];
+                if (age < minAge || age > maxAge || birthDay < minBirthDay || birthDay > maxBirthDay) {
+                    kept &= ~(1L << bit);
+                }
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Dictionary encoding for a low-cardinality text column: one int code per distinct value and a
+     * bitmap of the rows holding it. Null is stored as {@link #NULL} and has no bitmap.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<long[]> rows = new ArrayList<>();
+
+        int add(String value, int slot, int capacity) {
+            if (value == null) {
+                return NULL;
+            }
+            int code = codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                rows.add(new long[words(capacity)]);
+                return values.size() - 1;
+            });
+            long[] bitmap = rows.get(code);
+            if (bitmap.length <= slot >>> 6) {
+                bitmap = Arrays.copyOf(bitmap, words(capacity));
+                rows.set(code, bitmap);
+            }
+            set(bitmap, slot, true);
+            return code;
+        }
+
+        void remove(int code, int slot) {
+            if (code != NULL) {
+                set(rows.get(code), slot, false);
+            }
+        }
+
+        String value(int code) {
+            return code == NULL ? null : values.get(code);
+        }
+
+        // Values never seen have no bitmap and so match nothing.
+        long[][] rows(Collection<String> wanted) {
+            return wanted.stream()
+                    .map(codes::get)
+                    .filter(code -> code != null)
+                    .map(rows::get)
+                    .toArray(long[][]::new);
+        }
+
+        long bytes() {
+            return rows.stream().mapToLong(bitmap -> (long) bitmap.length * Long.BYTES).sum();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.employee.snapshot;
+
+import com.employee.dto.EmployeeChangeDTO;
+import com.employee.dto.EmployeeChangesDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeeFilterDTO;
+import com.employee.dto.EmployeeFilterResultDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.exception.ChangesExpiredException;
+import com.employee.repository.EmployeeRepository;
+import com.employee.routing.ReplicaRouter;
+import com.employee.service.EmployeeChangeService;
+import com.employee.service.EmployeesChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Tuple;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-process columnar replica of the filterable employee columns. It is loaded at startup and then
+ * follows the change feed: on its own thread right after each local write commits, and on a timer for
+ * anything else. Writers only signal that thread, so their latency does not depend on the snapshot; a
+ * filter instead waits, up to {@code employee.snapshot.max-wait}, for the writes this instance has
+ * committed. Filters read it under a shared lock; applying a batch of changes takes the exclusive lock
+ * briefly. It follows a single database, so employee.snapshot.enabled is off while employees are sharded,
+ * and it then stays empty.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshot implements SmartInitializingSingleton {
+
+    private static final List<EmployeeField> COLUMNS = List.of(EmployeeField.ID, EmployeeField.AGE,
+            EmployeeField.BIRTH_DATE, EmployeeField.POSITION, EmployeeField.GENDER, EmployeeField.ACTIVE);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeChangeService employeeChangeService;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Highest change committed through this instance, and whether the refresher already has it queued.
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final ExecutorService refresher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("employee-snapshot").daemon(true).factory());
+    // Notified whenever seq advances.
+    private final Object progress = new Object();
+
+    // Written under lock.
+    private EmployeeColumns columns = new EmployeeColumns(0);
+    private volatile long seq;
+
+    // Feed cursor, guarded by this.
+    private long since;
+    private Long after;
+
+    @Value("${employee.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.changes.max-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${employee.ids.max-per-request:10000}")
+    private int maxIds;
+
+    @Value("${employee.snapshot.max-wait:PT1S}")
+    private Duration maxWait;
+
+    public EmployeeSnapshot(EmployeeRepository employeeRepository, EmployeeChangeService employeeChangeService,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeChangeService = employeeChangeService;
+        // Its own transaction, whatever transaction the caller is in.
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("employee.snapshot.rows", this, snapshot -> snapshot.read(EmployeeColumns::liveCount))
+                .description("Employees in the in-memory filter snapshot")
+                .register(meterRegistry);
+        Gauge.builder("employee.snapshot.bytes", this, snapshot -> snapshot.read(EmployeeColumns::bytes))
+                .description("Heap held by the columns and bitmaps of the filter snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public EmployeeFilterResultDTO filter(EmployeeFilterDTO filter) {
+        if (filter.getLimit() < 0 || filter.getLimit() > maxIds) {
+            throw new BadRequestException("Limit must be between 0 and " + maxIds);
+        }
+        awaitLocalWrites();
+        EmployeeColumns.Result result;
+        long at;
+        lock.readLock().lock();
+        try {
+            result = columns.filter(filter);
+            at = seq;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return EmployeeFilterResultDTO.builder()
+                .count(result.count())
+                .ids(Arrays.stream(result.ids()).boxed().toList())
+                .seq(at)
+                .build();
+    }
+
+    // Rows changed after the counter was read are streamed too and then replayed from the feed, which is harmless.
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        readTransaction.executeWithoutResult(status -> {
+            long current = employeeChangeService.getCurrentSeq();
+            EmployeeColumns loaded = new EmployeeColumns(1024);
+            try (Stream<Tuple> rows = employeeRepository.streamFieldsOrderById(COLUMNS)) {
+                rows.forEach(row -> loaded.upsert(row.get(0, Long.class), row.get(1, Integer.class),
+                        row.get(2, LocalDate.class), row.get(3, String.class), row.get(4, String.class),
+                        row.get(5, Boolean.class)));
+            }
+            lock.writeLock().lock();
+            try {
+                columns = loaded;
+                seq = current;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            advanced();
+            since = current;
+            after = null;
+        });
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.snapshot.refresh-interval:PT1S}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        boolean reload = Boolean.TRUE.equals(readTransaction.execute(status -> {
+            if (since >= employeeChangeService.getCurrentSeq()) {
+                return false;
+            }
+            try {
+                EmployeeChangesDTO batch;
+                do {
+                    batch = employeeChangeService.getChanges(since, after, batchSize);
+                    apply(batch);
+                    since = batch.getSince();
+                    after = batch.getAfter();
+                } while (batch.isMore());
+                return false;
+            } catch (ChangesExpiredException e) {
+                return true;
+            }
+        }));
+        if (reload) {
+            reload();
+        }
+    }
+
+    // Only queues a refresh, so the writer's request neither waits for the snapshot nor needs a second
+    // connection while still holding its own. Commits landing while one runs queue the next.
+    @TransactionalEventListener
+    public void onEmployeesChanged(EmployeesChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        committed.accumulateAndGet(event.changeSeq(), Math::max);
+        if (refreshQueued.compareAndSet(false, true)) {
+            try {
+                refresher.execute(this::refreshQueued);
+            } catch (RejectedExecutionException e) {
+                // Shutting down.
+                refreshQueued.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // Reads the primary, where the changes just committed are; a failure leaves them to the scheduled refresh.
+    private void refreshQueued() {
+        refreshQueued.set(false);
+        try {
+            ReplicaRouter.onPrimary(() -> {
+                refresh();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the employee snapshot up to change {}", committed.get(), e);
+        }
+    }
+
+    // Lets a client's filter after its own write see that write, as long as the refresher keeps up.
+    private void awaitLocalWrites() {
+        long wanted = committed.get();
+        if (seq >= wanted) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        synchronized (progress) {
+            while (seq < wanted) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    return;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(progress, left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void advanced() {
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    private void apply(EmployeeChangesDTO batch) {
+        lock.writeLock().lock();
+        try {
+            for (EmployeeChangeDTO change : batch.getChanges()) {
+                if (change.getType() == EmployeeChangeDTO.Type.DELETE) {
+                    columns.remove(change.getId());
+                } else {
+                    EmployeeDTO employee = change.getEmployee();
+                    columns.upsert(employee.getId(), employee.getAge(), employee.getBirthDate(),
+                            employee.getPosition(), employee.getGender(), employee.isActive());
+                }
+            }
+            if (columns.needsCompaction()) {
+                columns = columns.compact();
+            }
+            seq = batch.getSince();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        advanced();
+    }
+
+    private <T> T read(Function<EmployeeColumns, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
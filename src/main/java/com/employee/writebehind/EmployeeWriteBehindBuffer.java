@@ -0,0 +1,194 @@
+package com.employee.writebehind;
+
+import com.employee.config.CachingConfig;
+import com.employee.dto.EmployeeDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for PUT /employees/{id} when {@code employee.write-behind.enabled} is set. An accepted
+ * update waits in a per-id entry, where a later update for the same employee is merged over it with
+ * {@link EmployeeMapper#mergeUpdates}, and is written once batch-size employees are pending or at the
+ * next flush-interval, up to batch-size employees per transaction. Until then it only exists in this
+ * instance's memory: it is lost if the process dies, written when the application shuts down, and
+ * written at once by {@link #flush}. Requests are ordered after the pending updates they could observe
+ * by {@link WriteBehindInterceptor}, so reads see them and other writes land after them.
+ */
+@Slf4j
+@Component
+public class EmployeeWriteBehindBuffer {
+
+    private final ConcurrentHashMap<Long, EmployeeDTO> pending = new ConcurrentHashMap<>();
+    // Held while pending updates are being written, so a flush also waits for one already running.
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final EmployeeService employeeService;
+    private final EmployeeMapper employeeMapper;
+    private final CacheManager cacheManager;
+    private final ConcurrentHashMap<String, Counter> updates = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPending;
+
+    public EmployeeWriteBehindBuffer(EmployeeService employeeService, EmployeeMapper employeeMapper,
+                                     CacheManager cacheManager, MeterRegistry meterRegistry,
+                                     @Value("${employee.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                     @Value("${employee.write-behind.max-pending:10000}") int maxPending) {
+        this.employeeService = employeeService;
+        this.employeeMapper = employeeMapper;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        Gauge.builder("employee.write-behind.pending", pending, Map::size)
+                .description("Employees with an accepted update not yet written")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts an update of an existing employee and returns the employee as it will be once the pending
+     * updates are written, with its current version. Throws ResourceNotFoundException for unknown ids.
+     */
+    public EmployeeDTO update(Long id, EmployeeDTO dto) {
+        EmployeeDTO current = employeeService.getEmployeeById(id);
+        boolean[] merged = new boolean[1];
+        EmployeeDTO update = pending.compute(id, (key, earlier) -> {
+            merged[0] = earlier != null;
+            return earlier == null ? dto : employeeMapper.mergeUpdates(earlier, dto);
+        });
+        updates(merged[0] ? "merged" : "buffered").increment();
+        int size = pending.size();
+        if (size >= maxPending) {
+            // Writers wait for the backlog instead of growing it without bound.
+            flush();
+        } else if (size >= batchSize && flushQueued.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("write-behind-flush").start(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+        return employeeMapper.mergeUpdates(current, update);
+    }
+
+    // Writes every update accepted before the call, and returns once they are committed. The pending ids are
+    // taken on entry; updates of other employees accepted meanwhile are left to the next flush, so a steady
+    // stream of writers cannot keep the caller here.
+    public void flush() {
+        flush(List.copyOf(pending.keySet()));
+    }
+
+    // Writes only this employee's update, if it is pending, after waiting for any being written.
+    public void flush(Long id) {
+        if (pending.containsKey(id) || flushLock.isLocked()) {
+            flush(List.of(id));
+        }
+    }
+
+    // Flushes if any update is pending or being written.
+    public void flushAll() {
+        if (!pending.isEmpty() || flushLock.isLocked()) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.write-behind.flush-interval:PT0.1S}")
+    public void flushScheduled() {
+        if (enabled && !pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    // Beans are destroyed before the services they use, so the database is still there to write to.
+    @PreDestroy
+    public void drain() {
+        if (!pending.isEmpty()) {
+            log.info("Writing {} pending employee updates before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    private void flush(List<Long> ids) {
+        flushLock.lock();
+        try {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                Map<Long, EmployeeDTO> batch = takeBatch(ids.subList(from, Math.min(from + batchSize, ids.size())));
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Removing an entry takes its update as it is at that moment; a later update starts a new entry. Ids
+    // another flush has already written are skipped.
+    private Map<Long, EmployeeDTO> takeBatch(List<Long> ids) {
+        Map<Long, EmployeeDTO> batch = new HashMap<>();
+        for (Long id : ids) {
+            EmployeeDTO update = pending.remove(id);
+            if (update != null) {
+                batch.put(id, update);
+            }
+        }
+        return batch;
+    }
+
+    // A batch that fails as a whole is retried one employee at a time, so one bad update cannot take the
+    // others down with it. Updates that still fail are logged and dropped.
+    private void write(Map<Long, EmployeeDTO> batch) {
+        Cache cache = cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE);
+        try {
+            List<EmployeeDTO> written = employeeService.updateEmployees(batch);
+            written.forEach(employee -> cache.put(employee.getId(), employee));
+            updates("written").increment(written.size());
+            updates("missing").increment(batch.size() - written.size());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Writing a batch of {} employee updates failed, retrying them one by one", batch.size(), e);
+        }
+        batch.forEach((id, update) -> {
+            try {
+                employeeService.updateEmployee(id, update);
+                updates("written").increment();
+            } catch (ResourceNotFoundException e) {
+                updates("missing").increment();
+            } catch (RuntimeException e) {
+                log.error("Dropping the pending update of employee {}", id, e);
+                updates("failed").increment();
+            }
+        });
+    }
+
+    private Counter updates(String result) {
+        return updates.computeIfAbsent(result, tag -> Counter.builder("employee.write-behind.updates")
+                .description("Employee updates accepted for write-behind and what became of them")
+                .tag("result", tag)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,16 @@
+package com.employee.writebehind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method that may leave its update in the {@link EmployeeWriteBehindBuffer}. The
+ * {@link WriteBehindInterceptor} does not flush before it; the handler flushes itself when it writes
+ * synchronously.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WriteBehind {
+}
@@ -0,0 +1,55 @@
+package com.employee.writebehind;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Writes pending updates before the request that could observe them is handled. A request for one
+ * employee waits only for that employee's update; any other request may read or overwrite any
+ * employee, so it waits for all of them. Handlers marked {@link WriteBehind} are left alone.
+ */
+public class WriteBehindInterceptor implements HandlerInterceptor {
+
+    static final String EMPLOYEE_PATTERN = "/employees/{id}";
+
+    private final EmployeeWriteBehindBuffer buffer;
+
+    public WriteBehindInterceptor(EmployeeWriteBehindBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() != DispatcherType.REQUEST
+                || method.hasMethodAnnotation(WriteBehind.class)) {
+            return true;
+        }
+        Long id = employeeId(request);
+        if (id != null) {
+            buffer.flush(id);
+        } else {
+            buffer.flushAll();
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long employeeId(HttpServletRequest request) {
+        if (!EMPLOYEE_PATTERN.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+            return null;
+        }
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        try {
+            return variables == null ? null : Long.valueOf(variables.get("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
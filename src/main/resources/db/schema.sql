@@ -0,0 +1,65 @@
+-- Schema of the JPA entities, applied by the prod profile instead of Hibernate's ddl-auto. Keep it in
+-- step with the entity mappings; EmployeeSchemaTest validates one against the other.
+create sequence if not exists employees_seq start with 1 increment by 500;
+
+create table if not exists employee_stats (
+    active boolean not null,
+    age integer,
+    headcount bigint not null,
+    id bigint generated by default as identity,
+    gender varchar(255),
+    position varchar(255),
+    primary key (id)
+);
+
+create table if not exists employee_tombstones (
+    change_seq bigint,
+    deleted_at timestamp(6),
+    employee_id bigint not null,
+    primary key (employee_id)
+);
+
+create table if not exists employee_search_trigrams (
+    employee_id bigint not null,
+    trigram varchar(3) not null,
+    primary key (employee_id, trigram)
+);
+
+create table if not exists employees (
+    active boolean not null,
+    age integer,
+    birth_date date,
+    change_seq bigint,
+    created_at timestamp(6),
+    id bigint not null,
+    version bigint,
+    search_name varchar(1024),
+    first_name varchar(255),
+    gender varchar(255),
+    last_name_father varchar(255),
+    last_name_mother varchar(255),
+    middle_name varchar(255),
+    position varchar(255),
+    primary key (id)
+);
+
+create table if not exists table_versions (
+    version bigint not null,
+    table_name varchar(255) not null,
+    primary key (table_name)
+);
+
+create index if not exists idx_employee_search_trigrams on employee_search_trigrams (trigram, employee_id);
+create index if not exists idx_employee_stats_key on employee_stats (position, gender, active, age);
+create index if not exists idx_employee_tombstones_change_seq on employee_tombstones (change_seq, employee_id);
+create index if not exists idx_employees_change_seq on employees (change_seq, id);
+
+-- Earlier versions indexed search_name, which contains searches cannot use; they search through
+-- the trigrams now, so index the names written before the table existed (EmployeeRepository.SEARCH_TRIGRAM_BACKFILL).
+drop index if exists idx_employees_search_name;
+insert into employee_search_trigrams (employee_id, trigram)
+    select distinct e.id, substring(e.search_name, r.x, 3) from (select id, search_name from employees n
+    where not exists (select 1 from employee_search_trigrams t where t.employee_id = n.id)) e
+    join system_range(1, (select coalesce(max(length(search_name)), 0) from employees)) r
+    on r.x <= length(e.search_name) - 2
+    where locate('|', substring(e.search_name, r.x, 3)) = 0;
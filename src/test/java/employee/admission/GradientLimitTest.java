@@ -0,0 +1,83 @@
+package employee.admission;
+
+import com.employee.admission.GradientLimit;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimitTest {
+
+    @Test
+    void release_SaturatedAtSteadyLatency_ShouldGrowToMax() {
+        // Given
+        GradientLimit limit = new GradientLimit(10, 2, 40);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            saturate(limit, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // Then
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    void release_LatencySpike_ShouldShrinkAndRejectThenRecover() {
+        // Given
+        GradientLimit limit = new GradientLimit(40, 2, 40);
+        for (int i = 0; i < 100; i++) {
+            saturate(limit, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            saturate(limit, TimeUnit.MILLISECONDS.toNanos(200));
+        }
+        int duringSpike = limit.getLimit();
+        for (int i = 0; i < duringSpike; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        boolean admittedOverLimit = limit.tryAcquire();
+        for (int i = 0; i < duringSpike; i++) {
+            limit.release();
+        }
+        for (int i = 0; i < 200; i++) {
+            saturate(limit, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // Then
+        assertTrue(duringSpike <= 4, "limit during spike was " + duringSpike);
+        assertFalse(admittedOverLimit);
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    void release_MostlyIdle_ShouldNotGrow() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 2, 40);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // Then
+        assertEquals(20, limit.getLimit());
+    }
+
+    // Fills the current limit and completes every request with the same latency.
+    private static void saturate(GradientLimit limit, long latencyNanos) {
+        int admitted = 0;
+        while (limit.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limit.release(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package employee.cache;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.cache.ClusterCacheInvalidator;
+import com.employee.dto.EmployeeDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application contexts on one database, standing in for two instances behind a load balancer.
+ * The employees cache is off, so reads go through Hibernate's second-level and query caches.
+ */
+class ClusterCacheTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(200);
+    // One poll interval, plus one for a poll that started just before the write, plus slack for the poll.
+    private static final Duration STALENESS_BOUND = INTERVAL.multipliedBy(2).plusMillis(500);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start();
+        nodeB = start();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void update_OnOneNode_ShouldReachTheOtherNodesCacheWithinBound() {
+        // Given
+        Long id = service(nodeA).createEmployee(EmployeeDTO.builder()
+                .firstName("Cached").lastNameFather("Twice").position("Developer").active(true).build()).getId();
+        settle(nodeB);
+        service(nodeB).getEmployeeById(id);
+        Statistics statistics = statistics(nodeB);
+        long hits = statistics.getSecondLevelCacheHitCount();
+        assertEquals("Developer", service(nodeB).getEmployeeById(id).getPosition());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits, "second read should come from the cache");
+
+        // When
+        service(nodeA).updateEmployee(id, EmployeeDTO.builder().position("Manager").active(true).build());
+
+        // Then
+        assertWithinBound(() -> "Manager".equals(service(nodeB).getEmployeeById(id).getPosition()));
+        assertEquals("Manager", service(nodeA).getEmployeeById(id).getPosition());
+    }
+
+    @Test
+    void delete_OnOneNode_ShouldReachTheOtherNodesCacheWithinBound() {
+        // Given
+        Long id = service(nodeA).createEmployee(EmployeeDTO.builder()
+                .firstName("Deleted").lastNameFather("Elsewhere").active(true).build()).getId();
+        settle(nodeB);
+        service(nodeB).getEmployeeById(id);
+        service(nodeB).getEmployeeVersion(id);
+
+        // When
+        service(nodeA).deleteEmployee(id);
+
+        // Then
+        assertWithinBound(() -> {
+            try {
+                service(nodeB).getEmployeeById(id);
+                return false;
+            } catch (ResourceNotFoundException e) {
+                return true;
+            }
+        });
+        assertWithinBound(() -> {
+            try {
+                service(nodeB).getEmployeeVersion(id);
+                return false;
+            } catch (ResourceNotFoundException e) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void create_OnOneNode_ShouldReachTheOtherNodesCachedSearchWithinBound() {
+        // Given
+        service(nodeA).createEmployee(EmployeeDTO.builder().firstName("Searched").lastNameFather("Uno").build());
+        settle(nodeB);
+        assertEquals(1, service(nodeB).searchEmployeesByName("searched").size());
+
+        // When
+        service(nodeA).createEmployee(EmployeeDTO.builder().firstName("Searched").lastNameFather("Dos").build());
+
+        // Then
+        assertWithinBound(() -> service(nodeB).searchEmployeesByName("searched").size() == 2);
+    }
+
+    // Lets the node evict the Given's writes, and repeat the eviction, before the test fills its caches.
+    private static void settle(ConfigurableApplicationContext context) {
+        ClusterCacheInvalidator invalidator = context.getBean(ClusterCacheInvalidator.class);
+        invalidator.poll();
+        invalidator.poll();
+    }
+
+    private static void assertWithinBound(BooleanSupplier condition) {
+        long start = System.nanoTime();
+        long deadline = start + STALENESS_BOUND.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "still stale after " + STALENESS_BOUND);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:cluster-cache-test;DB_CLOSE_DELAY=-1",
+                        "--spring.cache.type=none",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--employee.cache.second-level.enabled=true",
+                        "--employee.cache.invalidation.interval=" + INTERVAL);
+    }
+
+    private static EmployeeService service(ConfigurableApplicationContext context) {
+        return context.getBean(EmployeeService.class);
+    }
+
+    private static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -1,7 +1,18 @@
 package employee.controller;
 
 import com.employee.dto.EmployeeDTO;
+import com.employee.routing.ReplicaRouter;
+import com.employee.sharding.ShardRouter;
+import com.employee.service.EmployeeChangePublisher;
+import com.employee.service.EmployeeChangeService;
+import com.employee.service.EmployeeDumpService;
+import com.employee.service.EmployeeExportService;
+import com.employee.service.EmployeeImportService;
+import com.employee.service.EmployeeReadCoalescer;
 import com.employee.service.EmployeeService;
+import com.employee.service.EmployeeStatsService;
+import com.employee.snapshot.EmployeeSnapshot;
+import com.employee.writebehind.EmployeeWriteBehindBuffer;
 import com.employee.controller.EmployeeController;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +43,39 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    @MockBean
+    private EmployeeChangeService employeeChangeService;
+
+    @MockBean
+    private EmployeeChangePublisher employeeChangePublisher;
+
+    @MockBean
+    private EmployeeStatsService employeeStatsService;
+
+    @MockBean
+    private EmployeeSnapshot employeeSnapshot;
+
+    @MockBean
+    private EmployeeDumpService employeeDumpService;
+
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
+    @MockBean
+    private EmployeeReadCoalescer employeeReadCoalescer;
+
+    @MockBean
+    private ReplicaRouter replicaRouter;
+
+    @MockBean
+    private ShardRouter shardRouter;
+
+    @MockBean
+    private EmployeeWriteBehindBuffer employeeWriteBehindBuffer;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,149 @@
+package employee.controller;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.service.EmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:employee-encoding-test")
+class EmployeeEncodingTest {
+
+    private static final TypeReference<List<EmployeeDTO>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void getAllEmployees_AcceptSmileWithGzip_ShouldReturnCompressedSmile() throws Exception {
+        // Given
+        employeeService.createMultipleEmployees(IntStream.range(0, 50)
+                .mapToObj(i -> EmployeeDTO.builder().firstName("Smile" + i).lastNameFather("Encoded").position("Payroll").build())
+                .toList());
+
+        // When
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri("/employees"))
+                        .header("Accept", "application/x-jackson-smile, application/json;q=0.5")
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-jackson-smile", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElseThrow());
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().endsWith("-smile\""));
+        assertTrue(varies(response, "Accept"));
+        assertTrue(varies(response, "Accept-Encoding"));
+        List<EmployeeDTO> employees = decode(smileConverter.getObjectMapper(),
+                new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes());
+        assertTrue(employees.stream().filter(employee -> "Encoded".equals(employee.getLastNameFather())).count() >= 50);
+    }
+
+    @Test
+    void getEmployeeById_EtagFromAnotherEncoding_ShouldNotRevalidate() throws Exception {
+        // Given
+        Long id = employeeService.createMultipleEmployees(List.of(
+                EmployeeDTO.builder().firstName("Tagged").lastNameFather("Encoded").position("Payroll").build())).get(0).getId();
+        HttpResponse<byte[]> smile = client.send(HttpRequest.newBuilder(uri("/employees/" + id))
+                        .header("Accept", "application/x-jackson-smile")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        String smileETag = smile.headers().firstValue("ETag").orElseThrow();
+
+        // When
+        HttpResponse<String> json = client.send(HttpRequest.newBuilder(uri("/employees/" + id))
+                        .header("Accept", "application/json")
+                        .header("If-None-Match", smileETag)
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<byte[]> revalidated = client.send(HttpRequest.newBuilder(uri("/employees/" + id))
+                        .header("Accept", "application/x-jackson-smile")
+                        .header("If-None-Match", smileETag)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElseThrow());
+        assertTrue(smileETag.endsWith("-smile\""));
+        assertEquals(200, json.statusCode());
+        assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertNotEquals(smileETag, json.headers().firstValue("ETag").orElseThrow());
+        assertEquals(304, revalidated.statusCode());
+        assertTrue(varies(revalidated, "Accept"));
+    }
+
+    @Test
+    void createEmployees_CborBody_ShouldAnswerInCbor() throws Exception {
+        // Given
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        byte[] body = cbor.writeValueAsBytes(List.of(
+                EmployeeDTO.builder().firstName("Cbor").lastNameFather("Posted").position("Payroll").build()));
+
+        // When
+        HttpResponse<byte[]> created = client.send(HttpRequest.newBuilder(uri("/employees"))
+                        .header("Content-Type", "application/cbor")
+                        .header("Accept", "application/cbor")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<String> json = client.send(HttpRequest.newBuilder(uri("/employees/search?name=Cbor")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, created.statusCode());
+        assertEquals("application/cbor", created.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("Posted", decode(cbor, created.body()).get(0).getLastNameFather());
+        assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        assertTrue(json.body().contains("\"lastNameFather\":\"Posted\""));
+    }
+
+    // Field names are case-insensitive, and Tomcat rewrites Vary in lower case when it compresses.
+    private static boolean varies(HttpResponse<?> response, String field) {
+        return response.headers().allValues("Vary").stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .anyMatch(name -> name.strip().equalsIgnoreCase(field));
+    }
+
+    private static List<EmployeeDTO> decode(ObjectMapper mapper, byte[] body) throws Exception {
+        return mapper.readValue(body, EMPLOYEE_LIST);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,139 @@
+package employee.controller;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeExportDTO;
+import com.employee.dto.EmployeeExportRequestDTO;
+import com.employee.service.EmployeeExportService;
+import com.employee.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:employee-export-test")
+class EmployeeExportTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeExportService employeeExportService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void downloadExport_Csv_ShouldServeWholeFileAndRanges() throws Exception {
+        // Given
+        employeeService.createMultipleEmployees(List.of(
+                EmployeeDTO.builder().firstName("Export").lastNameFather("Uno").age(41)
+                        .birthDate(LocalDate.of(1983, 5, 6)).position("Payroll").build(),
+                EmployeeDTO.builder().firstName("Export").lastNameFather("Dos").position("Payroll").build()));
+        EmployeeExportDTO export = completed(EmployeeExportRequestDTO.builder()
+                .format(EmployeeExportDTO.Format.CSV)
+                .fields(List.of("id", "firstName", "lastNameFather", "age", "birthDate"))
+                .build());
+
+        // When
+        HttpResponse<byte[]> whole = download(export.getId(), null);
+        HttpResponse<byte[]> range = download(export.getId(), "bytes=5-14");
+        HttpResponse<byte[]> suffix = download(export.getId(), "bytes=-10");
+        HttpResponse<byte[]> outside = download(export.getId(), "bytes=" + whole.body().length + "-");
+
+        // Then
+        String csv = new String(whole.body(), StandardCharsets.UTF_8);
+        assertEquals(200, whole.statusCode());
+        assertTrue(csv.startsWith("id,firstName,lastNameFather,age,birthDate\n"));
+        assertTrue(csv.contains(",Export,Uno,41,1983-05-06\n"));
+        assertTrue(csv.contains(",Export,Dos,,\n"));
+        assertEquals(export.getBytes(), whole.body().length);
+        assertEquals(206, range.statusCode());
+        assertEquals("bytes 5-14/" + whole.body().length, range.headers().firstValue("Content-Range").orElseThrow());
+        assertArrayEquals(Arrays.copyOfRange(whole.body(), 5, 15), range.body());
+        assertArrayEquals(Arrays.copyOfRange(whole.body(), whole.body().length - 10, whole.body().length), suffix.body());
+        assertEquals(416, outside.statusCode());
+    }
+
+    @Test
+    void downloadExport_GzippedNdjson_ShouldDecompressToOneLinePerEmployee() throws Exception {
+        // Given
+        employeeService.createEmployee(EmployeeDTO.builder().firstName("Zipped").position("Payroll").build());
+        EmployeeExportDTO export = completed(EmployeeExportRequestDTO.builder()
+                .format(EmployeeExportDTO.Format.NDJSON)
+                .gzip(true)
+                .build());
+
+        // When
+        HttpResponse<byte[]> response = download(export.getId(), null);
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("application/gzip", response.headers().firstValue("Content-Type").orElseThrow());
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(export.getRows(), lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"firstName\":\"Zipped\"")));
+    }
+
+    @Test
+    void startExport_WhileRunning_ShouldNotServeTheFileYet() throws Exception {
+        // Given
+        HttpResponse<String> started = client.send(HttpRequest.newBuilder(uri("/employees/exports"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"format\":\"CSV\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // When
+        HttpResponse<String> missing = client.send(HttpRequest.newBuilder(uri("/employees/exports/unknown")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(202, started.statusCode());
+        assertTrue(started.headers().firstValue("Location").orElseThrow().startsWith("/employees/exports/"));
+        assertEquals(404, missing.statusCode());
+    }
+
+    private EmployeeExportDTO completed(EmployeeExportRequestDTO request) throws InterruptedException {
+        EmployeeExportDTO export = employeeExportService.startExport(request);
+        for (int attempt = 0; attempt < 100 && export.getFinishedAt() == null; attempt++) {
+            Thread.sleep(50);
+            export = employeeExportService.getExport(export.getId());
+        }
+        assertEquals(EmployeeExportDTO.Status.COMPLETED, export.getStatus(), export.getError());
+        return export;
+    }
+
+    private HttpResponse<byte[]> download(String id, String range) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/employees/exports/" + id + "/file"));
+        if (range != null) {
+            request.header("Range", range);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,187 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives point reads, full scans and bulk writes through warmup, normal, database latency spike and
+ * recovery phases, with and without admission control, and prints the goodput of each class:
+ * successful responses within the class's {@link #SLO_MS} per second. Run with
+ * {@code mvn test -Dtest=AdmissionLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class AdmissionLoadTest {
+
+    private static final int READERS = Integer.getInteger("loadtest.readers", 32);
+    private static final int SCANNERS = Integer.getInteger("loadtest.scanners", 4);
+    private static final int WRITERS = Integer.getInteger("loadtest.writers", 2);
+    private static final long SPIKE_DELAY_MS = Long.getLong("loadtest.delayMs", 100);
+    private static final long PHASE_SECONDS = Long.getLong("loadtest.phaseSeconds", 10);
+    // Latency objective of reads, scans and writes; slower successes do not count as goodput.
+    private static final long[] SLO_MS = {250, 2000, 1000};
+    private static final int EMPLOYEES = 1000;
+    private static final String[] PHASES = {"warmup", "normal", "spike", "recovery"};
+    private static final String[] CLASSES = {"read", "scan", "write"};
+
+    // Delay of every connection checkout, switched on for the spike phase.
+    private static volatile long delayMs;
+
+    // A throwaway round first, so neither measured configuration runs on a cold JIT.
+    @BeforeAll
+    static void warmUp() throws Exception {
+        run(true, "admission-warmup");
+    }
+
+    @ParameterizedTest(name = "admission={0}")
+    @ValueSource(booleans = {false, true})
+    void mixedLoad_WithDatabaseLatencySpike(boolean admission) throws Exception {
+        AtomicLongArray results = run(admission, "admission-" + admission);
+
+        for (int phase = 1; phase < PHASES.length; phase++) {
+            StringBuilder line = new StringBuilder(String.format("admission=%s %-8s", admission, PHASES[phase]));
+            for (int k = 0; k < CLASSES.length; k++) {
+                int at = (phase * CLASSES.length + k) * 3;
+                line.append(String.format(" %s: goodput=%.0f/s rejected=%d slow-or-failed=%d", CLASSES[k],
+                        results.get(at) / (double) PHASE_SECONDS, results.get(at + 1), results.get(at + 2)));
+            }
+            System.out.println(line);
+        }
+        assertTrue(results.get((PHASES.length - 1) * CLASSES.length * 3) > 0);
+    }
+
+    // Returns the ok, rejected and slow-or-failed responses per phase and class.
+    private static AtomicLongArray run(boolean admission, String database) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                EmployeeApiApplication.class, SlowDataSourceConfig.class)
+                .run("--server.port=0",
+                        "--employee.admission.enabled=" + admission,
+                        "--spring.datasource.url=jdbc:h2:mem:" + database,
+                        "--spring.cache.type=none")) {
+            List<Long> ids = context.getBean(EmployeeService.class).createMultipleEmployees(IntStream.range(0, EMPLOYEES)
+                            .mapToObj(i -> EmployeeDTO.builder().firstName("Load" + i).lastNameFather("Admission")
+                                    .position("Payroll").build())
+                            .toList())
+                    .stream().map(EmployeeDTO::getId).toList();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/employees";
+            String batch = IntStream.range(0, 20)
+                    .mapToObj(i -> "{\"firstName\":\"Bulk\",\"lastNameFather\":\"Writer\",\"position\":\"Payroll\"}")
+                    .collect(Collectors.joining(",", "[", "]"));
+
+            AtomicLongArray results = new AtomicLongArray(PHASES.length * CLASSES.length * 3);
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            List<Supplier<HttpRequest>> kinds = List.of(
+                    () -> HttpRequest.newBuilder(URI.create(base + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()))))
+                            .build(),
+                    () -> HttpRequest.newBuilder(URI.create(base)).build(),
+                    () -> HttpRequest.newBuilder(URI.create(base)).header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(batch)).build());
+            int[] clients = {READERS, SCANNERS, WRITERS};
+            long start = System.nanoTime();
+            long end = start + Duration.ofSeconds(PHASE_SECONDS * PHASES.length).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int kind = 0; kind < kinds.size(); kind++) {
+                    for (int c = 0; c < clients[kind]; c++) {
+                        int k = kind;
+                        executor.submit(() -> {
+                            while (System.nanoTime() < end) {
+                                int phase = phase(start);
+                                long started = System.nanoTime();
+                                int status;
+                                try {
+                                    status = client.send(kinds.get(k).get(), HttpResponse.BodyHandlers.discarding())
+                                            .statusCode();
+                                } catch (Exception e) {
+                                    status = 0;
+                                }
+                                long millis = (System.nanoTime() - started) / 1_000_000;
+                                int outcome = status == 200 && millis <= SLO_MS[k] ? 0 : status == 503 ? 1 : 2;
+                                results.incrementAndGet((phase * CLASSES.length + k) * 3 + outcome);
+                                if (status == 503) {
+                                    // Honors Retry-After loosely, like a client with jittered backoff.
+                                    Thread.sleep(ThreadLocalRandom.current().nextLong(100, 500));
+                                }
+                            }
+                            return null;
+                        });
+                    }
+                }
+                Thread.sleep(Duration.ofSeconds(2 * PHASE_SECONDS).toMillis());
+                delayMs = SPIKE_DELAY_MS;
+                Thread.sleep(Duration.ofSeconds(PHASE_SECONDS).toMillis());
+                delayMs = 0;
+            }
+            return results;
+        } finally {
+            delayMs = 0;
+        }
+    }
+
+    private static int phase(long start) {
+        return (int) Math.min(PHASES.length - 1, (System.nanoTime() - start) / Duration.ofSeconds(PHASE_SECONDS).toNanos());
+    }
+
+    @Configuration
+    static class SlowDataSourceConfig {
+
+        // Holds each pooled connection for the current delay before handing it out, standing in for a
+        // database whose every transaction got slower.
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection connection = super.getConnection();
+                            long delay = delayMs;
+                            if (delay > 0) {
+                                try {
+                                    Thread.sleep(delay);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+                            return connection;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.service.EmployeeService;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the write ceiling the change counter sets on one database. Each writer sends PUT
+ * /employees/{id} for its own employee, so writers never touch the same row; every update of
+ * employees takes {@link #UPDATE_MS}. Each write holds the employees row of table_versions from taking
+ * its change sequence until it commits, so throughput stays near 1000 / UPDATE_MS updates per second
+ * however many writers there are. Run with {@code mvn test -Dtest=ChangeCounterLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ChangeCounterLoadTest {
+
+    private static final long SECONDS = Long.getLong("loadtest.seconds", 10);
+    private static final long UPDATE_MS = Long.getLong("loadtest.updateMs", 2);
+
+    @ParameterizedTest(name = "writers={0}")
+    @ValueSource(ints = {1, 4, 16})
+    void updateEmployee_DistinctRows(int writers) throws Exception {
+        String url = "jdbc:h2:mem:change-counter-load-" + writers + ";DB_CLOSE_DELAY=-1";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.hikari.maximum-pool-size=" + (writers + 4),
+                        "--employee.admission.enabled=false",
+                        "--spring.cache.type=none")) {
+            List<Long> ids = context.getBean(EmployeeService.class).createMultipleEmployees(IntStream.range(0, writers)
+                            .mapToObj(i -> EmployeeDTO.builder().firstName("Writer" + i).lastNameFather("Counter").active(true).build())
+                            .toList())
+                    .stream().map(EmployeeDTO::getId).toList();
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TRIGGER slow_updates BEFORE UPDATE ON employees FOR EACH ROW CALL \""
+                        + SlowUpdates.class.getName() + "\"");
+            }
+
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/employees/";
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            AtomicLong ok = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            long end = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Long id : ids) {
+                    executor.submit(() -> {
+                        for (int i = 0; System.nanoTime() < end; i++) {
+                            int status = client.send(HttpRequest.newBuilder(URI.create(base + id))
+                                            .header("Content-Type", "application/json")
+                                            .PUT(HttpRequest.BodyPublishers.ofString(
+                                                    "{\"position\":\"Level" + i + "\",\"active\":true}"))
+                                            .build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 200 ? ok : failed).incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            System.out.printf("writers=%d throughput=%.0f updates/s ceiling=%.0f updates/s failed=%d%n", writers,
+                    ok.get() / (double) SECONDS, 1000.0 / UPDATE_MS, failed.get());
+            assertTrue(ok.get() > 0);
+        }
+    }
+
+    // Holds every update of employees, like a write that keeps its server busy.
+    public static class SlowUpdates implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            try {
+                Thread.sleep(UPDATE_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.routing.ReplicaRouter;
+import com.employee.service.EmployeeService;
+import employee.routing.H2Replication;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures GET /employees/{id} throughput with 0, 1, 2 and 4 replicas. Every database is a separate
+ * in-memory H2 whose SELECTs on employees hold their connection for {@link #QUERY_MS}, standing in for
+ * a database server of fixed capacity, so throughput is bounded by the pools reads can use. Run with
+ * {@code mvn test -Dtest=ReplicaLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ReplicaLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 128);
+    private static final long SECONDS = Long.getLong("loadtest.seconds", 10);
+    private static final long QUERY_MS = Long.getLong("loadtest.queryMs", 20);
+    private static final int POOL_SIZE = 10;
+    private static final int EMPLOYEES = 1000;
+
+    @ParameterizedTest(name = "replicas={0}")
+    @ValueSource(ints = {0, 1, 2, 4})
+    void getEmployeeById_ScalesWithReplicas(int replicas) throws Exception {
+        String primaryUrl = "jdbc:h2:mem:replica-load-" + replicas;
+        List<String> replicaUrls = IntStream.range(0, replicas)
+                .mapToObj(i -> "jdbc:h2:mem:replica-load-" + replicas + "-" + i + ";DB_CLOSE_DELAY=-1")
+                .toList();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + primaryUrl,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--employee.datasource.replica-urls=" + String.join(",", replicaUrls),
+                        "--employee.datasource.replica-pool-size=" + POOL_SIZE,
+                        "--employee.datasource.health-interval=PT0.1S",
+                        "--employee.datasource.max-replica-lag=PT1M",
+                        "--employee.admission.enabled=false",
+                        "--employee.coalescing.enabled=false",
+                        "--spring.cache.type=none")) {
+            List<Long> ids = context.getBean(EmployeeService.class).createMultipleEmployees(IntStream.range(0, EMPLOYEES)
+                            .mapToObj(i -> EmployeeDTO.builder().firstName("Load" + i).lastNameFather("Replica").build())
+                            .toList())
+                    .stream().map(EmployeeDTO::getId).toList();
+            try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+                 Statement statement = primary.createStatement()) {
+                statement.execute("CREATE TRIGGER slow_reads BEFORE SELECT ON employees CALL \""
+                        + SlowReads.class.getName() + "\"");
+            }
+            for (String replicaUrl : replicaUrls) {
+                H2Replication.sync(primaryUrl, replicaUrl);
+            }
+            ReplicaRouter router = context.getBean(ReplicaRouter.class);
+            for (int attempt = 0; attempt < 100 && router.getHealthyReplicas() < replicas; attempt++) {
+                Thread.sleep(50);
+            }
+            assertEquals(replicas, router.getHealthyReplicas());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/employees/";
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            AtomicLong ok = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            long end = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                            int status = client.send(HttpRequest.newBuilder(URI.create(base + id)).build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 200 ? ok : failed).incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            System.out.printf("replicas=%d read-pools=%s throughput=%.0f req/s failed=%d%n", replicas,
+                    replicas == 0 ? "primary" : IntStream.range(0, replicas).mapToObj(i -> "replica-" + i)
+                            .collect(Collectors.joining(",")),
+                    ok.get() / (double) SECONDS, failed.get());
+            assertTrue(ok.get() > 0);
+        }
+    }
+
+    // Holds the connection of every SELECT on employees, like a query that keeps its server busy.
+    public static class SlowReads implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            try {
+                Thread.sleep(QUERY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
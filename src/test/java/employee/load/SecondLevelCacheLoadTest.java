@@ -0,0 +1,112 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the database load of a read-mostly mix with the second-level cache off and on: lookups by
+ * id, conditional lookups, pages and searches, with one update in {@link #WRITE_EVERY} requests. The
+ * employees cache is off, so every read reaches Hibernate. Reports the SQL statements prepared per
+ * request and the second-level cache hit ratio. Run with
+ * {@code mvn test -Dtest=SecondLevelCacheLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class SecondLevelCacheLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final long SECONDS = Long.getLong("loadtest.seconds", 10);
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 10_000);
+    private static final int HOT_EMPLOYEES = Integer.getInteger("loadtest.hotEmployees", 1_000);
+    private static final int WRITE_EVERY = Integer.getInteger("loadtest.writeEvery", 20);
+    private static final List<String> NAMES = List.of("ana", "luis", "sara", "pablo", "marta");
+
+    @ParameterizedTest(name = "secondLevelCache={0}")
+    @ValueSource(booleans = {false, true})
+    void readMostlyMix(boolean secondLevelCache) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:second-level-load-" + secondLevelCache,
+                        "--spring.cache.type=none",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--employee.cache.second-level.enabled=" + secondLevelCache,
+                        "--employee.admission.enabled=false")) {
+            List<Long> ids = context.getBean(EmployeeService.class).createMultipleEmployees(IntStream.range(0, EMPLOYEES)
+                            .mapToObj(i -> EmployeeDTO.builder()
+                                    .firstName(NAMES.get(i % NAMES.size()))
+                                    .lastNameFather("Load" + i)
+                                    .position("Developer")
+                                    .active(true)
+                                    .build())
+                            .toList())
+                    .stream().map(EmployeeDTO::getId).toList();
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/employees";
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            AtomicLong ok = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            long end = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (long i = 0; System.nanoTime() < end; i++) {
+                            Long id = ids.get(random.nextInt(HOT_EMPLOYEES));
+                            HttpRequest request = switch ((int) (i % WRITE_EVERY)) {
+                                case 0 -> HttpRequest.newBuilder(URI.create(base + "/" + id))
+                                        .header("Content-Type", "application/json")
+                                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                                "{\"position\":\"Developer" + random.nextInt(3) + "\",\"active\":true}"))
+                                        .build();
+                                case 1, 2 -> HttpRequest.newBuilder(URI.create(base + "/search?name="
+                                        + NAMES.get(random.nextInt(NAMES.size())) + "+load" + random.nextInt(10))).build();
+                                case 3, 4 -> HttpRequest.newBuilder(URI.create(base + "?size=50&cursor="
+                                        + ids.get(random.nextInt(HOT_EMPLOYEES / 50) * 50))).build();
+                                case 5, 6, 7 -> HttpRequest.newBuilder(URI.create(base + "/" + id))
+                                        .header("If-None-Match", "\"0\"")
+                                        .build();
+                                default -> HttpRequest.newBuilder(URI.create(base + "/" + id)).build();
+                            };
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status < 400 ? ok : failed).incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            long hits = statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount();
+            long lookups = hits + statistics.getSecondLevelCacheMissCount() + statistics.getQueryCacheMissCount();
+            System.out.printf("secondLevelCache=%s throughput=%.0f requests/s failed=%d statements/request=%.2f cache-hit-ratio=%.2f%n",
+                    secondLevelCache, ok.get() / (double) SECONDS, failed.get(),
+                    statistics.getPrepareStatementCount() / (double) ok.get(),
+                    lookups == 0 ? 0 : hits / (double) lookups);
+            assertTrue(ok.get() > 0);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures POST /employees throughput, one employee per request, with 1, 2 and 4 shards. Every shard
+ * is a separate in-memory H2 whose inserts into employees take {@link #INSERT_MS}, standing in for a
+ * database server of fixed capacity. Each write also holds its shard's change counter until it commits,
+ * so a single database takes one write at a time and throughput is bounded by the shard count. Run with
+ * {@code mvn test -Dtest=ShardLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ShardLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final long SECONDS = Long.getLong("loadtest.seconds", 10);
+    private static final long INSERT_MS = Long.getLong("loadtest.insertMs", 5);
+    private static final int POOL_SIZE = 10;
+
+    @ParameterizedTest(name = "shards={0}")
+    @ValueSource(ints = {1, 2, 4})
+    void createEmployee_ScalesWithShards(int shards) throws Exception {
+        List<String> urls = IntStream.range(0, shards)
+                .mapToObj(i -> "jdbc:h2:mem:shard-load-" + shards + "-" + i + ";DB_CLOSE_DELAY=-1")
+                .toList();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + urls.get(0),
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--employee.datasource.shard-urls=" + String.join(",", urls.subList(1, shards)),
+                        "--employee.datasource.shard-pool-size=" + POOL_SIZE,
+                        "--employee.admission.enabled=false",
+                        "--employee.changes.enabled=false",
+                        "--employee.snapshot.enabled=false",
+                        "--spring.cache.type=none")) {
+            for (String url : urls) {
+                try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TRIGGER slow_inserts BEFORE INSERT ON employees CALL \""
+                            + SlowInserts.class.getName() + "\"");
+                }
+            }
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/employees");
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            AtomicLong ok = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            long end = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    int clientId = c;
+                    executor.submit(() -> {
+                        for (int i = 0; System.nanoTime() < end; i++) {
+                            String body = "[{\"firstName\":\"Load" + clientId + "-" + i + "\",\"lastNameFather\":\"Shard\"}]";
+                            int status = client.send(HttpRequest.newBuilder(uri)
+                                            .header("Content-Type", "application/json")
+                                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                                            .build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 200 ? ok : failed).incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            List<Long> perShard = new ArrayList<>();
+            for (String url : urls) {
+                try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                     Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("select count(*) from employees")) {
+                    rows.next();
+                    perShard.add(rows.getLong(1));
+                }
+            }
+            System.out.printf("shards=%d throughput=%.0f creates/s failed=%d rows-per-shard=%s%n", shards,
+                    ok.get() / (double) SECONDS, failed.get(), perShard);
+            assertTrue(ok.get() > 0);
+        }
+    }
+
+    // Holds every insert into employees, like a write that keeps its server busy.
+    public static class SlowInserts implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            try {
+                Thread.sleep(INSERT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
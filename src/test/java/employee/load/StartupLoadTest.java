@@ -0,0 +1,201 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.service.EmployeeDumpService;
+import com.employee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application in a fresh JVM, restoring a dump of {@link #EMPLOYEES} employees, and prints
+ * the time from process start to the first served request, and the time until the p99 latency of
+ * mixed reads settles. Time to first request counts until the readiness probe reports UP and a hot read
+ * then succeeds, as a load balancer would see it. Steady state is the p99 of the last half of the run;
+ * the application reaches it at the start of the first one-second window after which no window's p99
+ * exceeds {@link #STEADY_TOLERANCE} times that. Run with
+ * {@code mvn test -Dtest=StartupLoadTest -Dloadtest=true}. To measure the fast-start build, package it
+ * with {@code mvn -P fast-start package -DskipTests}, record a CDS archive with
+ * {@code java -XX:ArchiveClassesAtExit=target/app.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh
+ * -jar target/employee-api-1.0-SNAPSHOT.jar --spring.profiles.active=prod} and add
+ * {@code -Dstartup.jar=target/employee-api-1.0-SNAPSHOT.jar
+ * -Dstartup.jvmArgs="-XX:SharedArchiveFile=target/app.jsa -Dspring.aot.enabled=true"}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class StartupLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("startup.employees", 10_000);
+    private static final int CLIENTS = Integer.getInteger("startup.clients", 8);
+    private static final long RUN_SECONDS = Long.getLong("startup.seconds", 60);
+    private static final String JAR = System.getProperty("startup.jar", "");
+    private static final String JVM_ARGS = System.getProperty("startup.jvmArgs", "");
+    private static final double STEADY_TOLERANCE = 1.5;
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path dumpFile;
+
+    // Built in this JVM, so every measured start restores the same employees before its web server starts.
+    @BeforeAll
+    static void createDump() {
+        dumpFile = tempDir.resolve("employees.dump");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:startup-seed",
+                        "--employee.dump.file=" + dumpFile)) {
+            context.getBean(EmployeeService.class).createMultipleEmployees(IntStream.range(0, EMPLOYEES)
+                    .mapToObj(i -> EmployeeDTO.builder().firstName("Start" + i % 500).lastNameFather("Up" + i % 97)
+                            .position(i % 3 == 0 ? "Payroll" : "Engineering").gender(i % 2 == 0 ? "F" : "M")
+                            .age(20 + i % 45).active(i % 10 != 0).build())
+                    .toList());
+            context.getBean(EmployeeDumpService.class).dump();
+        }
+    }
+
+    @ParameterizedTest(name = "warmup={0}")
+    @ValueSource(booleans = {false, true})
+    void startup_UntilSteadyStateP99(boolean warmup) throws Exception {
+        int port = freePort();
+        String base = "http://localhost:" + port;
+        List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        if (!JVM_ARGS.isBlank()) {
+            command.addAll(Arrays.asList(JVM_ARGS.trim().split("\\s+")));
+        }
+        if (JAR.isEmpty()) {
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), EmployeeApiApplication.class.getName()));
+        } else {
+            command.addAll(List.of("-jar", JAR));
+        }
+        command.addAll(List.of("--spring.profiles.active=prod",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup",
+                "--employee.dump.file=" + dumpFile,
+                "--employee.warmup.enabled=" + warmup));
+        File log = Path.of("target", "startup-warmup-" + warmup + ".log").toFile();
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long ready = awaitFirstRequest(client, base, start);
+            // Completion time since process start and latency of every request, both in nanoseconds.
+            Queue<long[]> samples = new ConcurrentLinkedQueue<>();
+            long end = ready + Duration.ofSeconds(RUN_SECONDS).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            long started = System.nanoTime();
+                            int status = client.send(hotRead(base), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            long finished = System.nanoTime();
+                            if (status == 200) {
+                                samples.add(new long[]{finished - start, finished - started});
+                            }
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            long[] windowP99 = windowP99(samples, (int) ((end - start) / 1_000_000_000L) + 1);
+            long steadyP99 = p99(samples.stream()
+                    .filter(sample -> sample[0] >= ready - start + (end - ready) / 2)
+                    .mapToLong(sample -> sample[1]).toArray());
+            int readyWindow = (int) ((ready - start) / 1_000_000_000L);
+            int steadyWindow = windowP99.length;
+            while (steadyWindow > readyWindow && windowP99[steadyWindow - 1] <= STEADY_TOLERANCE * steadyP99) {
+                steadyWindow--;
+            }
+            System.out.printf("warmup=%s jvmArgs=[%s] time-to-first-request=%dms time-to-steady-state-p99=%ds "
+                            + "steady-p99=%.1fms first-window-p99=%.1fms requests=%d%n",
+                    warmup, JVM_ARGS, (ready - start) / 1_000_000, steadyWindow, steadyP99 / 1e6,
+                    windowP99[readyWindow] / 1e6, samples.size());
+            assertTrue(!samples.isEmpty());
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long awaitFirstRequest(HttpClient client, String base, long start) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(base + "/actuator/health/readiness")).build();
+        while (true) {
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200
+                        && client.send(hotRead(base), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            if (System.nanoTime() - start > Duration.ofMinutes(2).toNanos()) {
+                throw new IllegalStateException("Application did not become ready");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    // The mix of reads a new instance gets: mostly by id, then pages, searches and filters.
+    private static HttpRequest hotRead(String base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int kind = random.nextInt(10);
+        String path = kind < 6 ? "/employees/" + (1 + random.nextInt(EMPLOYEES))
+                : kind < 8 ? "/employees?size=50&cursor=" + random.nextInt(EMPLOYEES)
+                : kind < 9 ? "/employees/search?name=start" + random.nextInt(500) + "%20up"
+                : "/employees/filter?position=Payroll&minAge=30&maxAge=49&limit=100";
+        return HttpRequest.newBuilder(URI.create(base + path)).build();
+    }
+
+    private static long[] windowP99(Queue<long[]> samples, int windows) {
+        List<List<Long>> byWindow = new ArrayList<>();
+        for (int w = 0; w < windows; w++) {
+            byWindow.add(new ArrayList<>());
+        }
+        for (long[] sample : samples) {
+            byWindow.get((int) Math.min(windows - 1, sample[0] / 1_000_000_000L)).add(sample[1]);
+        }
+        return byWindow.stream().mapToLong(latencies -> p99(latencies.stream().mapToLong(Long::longValue).toArray()))
+                .toArray();
+    }
+
+    private static long p99(long[] latencies) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) (latencies.length * 0.99)];
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
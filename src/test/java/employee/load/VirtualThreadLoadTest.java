@@ -0,0 +1,122 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.EmployeeService;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares platform and virtual request threads against a repository slowed down by a fixed delay.
+ * Run with {@code mvn test -Dtest=VirtualThreadLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 5);
+    private static final long REPOSITORY_DELAY_MS = Long.getLong("loadtest.delayMs", 50);
+
+    @ParameterizedTest(name = "virtualThreads={0}")
+    @ValueSource(booleans = {false, true})
+    void getEmployeeById_WithSlowRepository(boolean virtualThreads) throws Exception {
+        // Passed as command-line arguments so they take precedence over application.yml.
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                EmployeeApiApplication.class, SlowRepositoryConfig.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none")) {
+            Long id = context.getBean(EmployeeService.class)
+                    .createEmployee(EmployeeDTO.builder().firstName("Load").lastNameFather("Test").build())
+                    .getId();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/employees/" + id);
+
+            long[] latencies = run(uri);
+
+            Arrays.sort(latencies);
+            System.out.printf("virtualThreads=%s requests=%d p50=%.1fms p99=%.1fms%n",
+                    virtualThreads, latencies.length,
+                    latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6);
+            assertEquals(CLIENTS * REQUESTS_PER_CLIENT, latencies.length);
+        }
+    }
+
+    private static long[] run(URI uri) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                results.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long t = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertEquals(200, response.statusCode());
+                        latencies[r] = System.nanoTime() - t;
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        int i = 0;
+        for (Future<long[]> result : results) {
+            for (long latency : result.get()) {
+                all[i++] = latency;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("throughput=%.0f req/s%n", all.length / seconds);
+        return all;
+    }
+
+    @Configuration
+    static class SlowRepositoryConfig {
+
+        // Delays every repository call without holding a connection, standing in for a slow database.
+        @Bean
+        static BeanPostProcessor slowRepositoryPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof EmployeeRepository)) {
+                        return bean;
+                    }
+                    ProxyFactory factory = new ProxyFactory(bean);
+                    factory.addAdvice((org.aopalliance.intercept.MethodInterceptor) invocation -> {
+                        Thread.sleep(REPOSITORY_DELAY_MS);
+                        return invocation.proceed();
+                    });
+                    return factory.getProxy();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package employee.load;
+
+import com.employee.EmployeeApiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.api.Trigger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends bursts of PUT /employees/{id} at a few hot employees, toggling active and moving them between
+ * positions, with write-behind off and on. Reports the SQL statements Hibernate prepared and the
+ * employees rows updated per accepted PUT, counted after a final flush so every update is written. Run
+ * with {@code mvn test -Dtest=WriteBehindLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class WriteBehindLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final long SECONDS = Long.getLong("loadtest.seconds", 10);
+    private static final int HOT_EMPLOYEES = Integer.getInteger("loadtest.hotEmployees", 50);
+    private static final int BURST = Integer.getInteger("loadtest.burst", 10);
+    private static final String[] POSITIONS = {"Developer", "Lead", "Architect"};
+    private static final AtomicLong ROWS_UPDATED = new AtomicLong();
+
+    @ParameterizedTest(name = "writeBehind={0}")
+    @ValueSource(booleans = {false, true})
+    void updateEmployee_Bursts(boolean writeBehind) throws Exception {
+        String url = "jdbc:h2:mem:write-behind-load-" + writeBehind + ";DB_CLOSE_DELAY=-1";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--employee.write-behind.enabled=" + writeBehind,
+                        "--employee.admission.enabled=false")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < HOT_EMPLOYEES; i++) {
+                String body = "[{\"firstName\":\"Hot" + i + "\",\"lastNameFather\":\"Burst\",\"position\":\"Developer\",\"active\":true}]";
+                HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                ids.add(objectMapper.readTree(created.body()).path(0).path("id").asLong());
+            }
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TRIGGER count_updates AFTER UPDATE ON employees FOR EACH ROW CALL \""
+                        + CountUpdates.class.getName() + "\"");
+            }
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            ROWS_UPDATED.set(0);
+
+            AtomicLong ok = new AtomicLong();
+            AtomicLong failed = new AtomicLong();
+            long end = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < end) {
+                            // A burst of changes to one employee, as an integration replaying a re-org would send.
+                            Long id = ids.get(random.nextInt(ids.size()));
+                            for (int i = 0; i < BURST; i++) {
+                                String body = "{\"position\":\"" + POSITIONS[random.nextInt(POSITIONS.length)]
+                                        + "\",\"active\":" + random.nextBoolean() + "}";
+                                int status = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/" + id))
+                                                .header("Content-Type", "application/json")
+                                                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                                                .build(),
+                                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                                (status == 200 || status == 202 ? ok : failed).incrementAndGet();
+                            }
+                        }
+                        return null;
+                    });
+                }
+            }
+            client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/_flush"))
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+
+            System.out.printf("writeBehind=%s throughput=%.0f updates/s failed=%d statements/update=%.2f rows-updated/update=%.3f%n",
+                    writeBehind, ok.get() / (double) SECONDS, failed.get(),
+                    statistics.getPrepareStatementCount() / (double) ok.get(), ROWS_UPDATED.get() / (double) ok.get());
+            assertTrue(ok.get() > 0);
+        }
+    }
+
+    // Counts the employees rows the database updates.
+    public static class CountUpdates implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            ROWS_UPDATED.incrementAndGet();
+        }
+    }
+}
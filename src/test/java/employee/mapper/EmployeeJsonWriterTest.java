@@ -0,0 +1,146 @@
+package employee.mapper;
+
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.mapper.EmployeeJsonWriter;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.model.Employee;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeJsonWriterTest {
+
+    // Same defaults as the ObjectMapper Spring Boot uses for EmployeeDTO responses.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private final EmployeeJsonWriter employeeJsonWriter = new EmployeeJsonWriter();
+
+    @Test
+    void write_ShouldMatchEmployeeDTOSerialization() throws IOException {
+        List<Employee> employees = List.of(
+                Employee.builder()
+                        .id(1L)
+                        .firstName("José \"Pepe\"")
+                        .middleName("Ñandú\\")
+                        .lastNameFather("Doe\n")
+                        .lastNameMother("Smith")
+                        .age(30)
+                        .gender("M")
+                        .birthDate(LocalDate.of(1990, 5, 1))
+                        .position("Developer")
+                        .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 258_650_000))
+                        .active(true)
+                        .version(4L)
+                        .build(),
+                Employee.builder()
+                        .id(2L)
+                        .createdAt(LocalDateTime.of(2024, 12, 31, 23, 59))
+                        .build(),
+                Employee.builder()
+                        .id(3L)
+                        .birthDate(LocalDate.of(12_345, 1, 1))
+                        .createdAt(LocalDateTime.of(7, 6, 5, 4, 3, 2, 1))
+                        .build(),
+                Employee.builder()
+                        .birthDate(LocalDate.of(-44, 3, 15))
+                        .createdAt(LocalDateTime.of(2000, 2, 29, 12, 0, 0, 100_000_000))
+                        .build());
+
+        String expected = objectMapper.writeValueAsString(employees.stream().map(employeeMapper::toDTO).toList());
+
+        assertEquals(expected, writeArray(employees));
+    }
+
+    @Test
+    void write_WithProjectedRow_ShouldMatchSelectedDTOFields() throws IOException {
+        Employee employee = Employee.builder()
+                .id(7L)
+                .firstName("Ana")
+                .lastNameFather("Flores")
+                .age(41)
+                .birthDate(LocalDate.of(1983, 11, 9))
+                .createdAt(LocalDateTime.of(2024, 6, 1, 8, 30, 0, 5_000))
+                .active(true)
+                .version(2L)
+                .build();
+        List<EmployeeField> fields = EmployeeField.parse(
+                List.of("version", "firstName", "middleName", "age", "birthDate", "createdAt", "active", "id"));
+        Tuple row = mock(Tuple.class);
+        when(row.get(0)).thenReturn(employee.getId());
+        when(row.get(1)).thenReturn(employee.getFirstName());
+        when(row.get(2)).thenReturn(employee.getMiddleName());
+        when(row.get(3)).thenReturn(employee.getAge());
+        when(row.get(4)).thenReturn(employee.getBirthDate());
+        when(row.get(5)).thenReturn(employee.getCreatedAt());
+        when(row.get(6)).thenReturn(employee.isActive());
+        when(row.get(7)).thenReturn(employee.getVersion());
+
+        ObjectNode expected = objectMapper.valueToTree(employeeMapper.toDTO(employee));
+        expected.retain(fields.stream().map(EmployeeField::getProperty).toList());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            employeeJsonWriter.write(generator, row, fields);
+        }
+        assertEquals(objectMapper.writeValueAsString(expected), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_WithDTO_ShouldMatchDTOSerialization() throws IOException {
+        EmployeeDTO employee = EmployeeDTO.builder()
+                .id(9L)
+                .firstName("Luz")
+                .lastNameMother("Ríos")
+                .age(27)
+                .birthDate(LocalDate.of(1997, 2, 3))
+                .createdAt(LocalDateTime.of(2024, 3, 4, 5, 6, 7, 890_000_000))
+                .version(1L)
+                .build();
+        List<EmployeeField> fields = EmployeeField.parse(List.of("id", "lastNameMother", "createdAt", "active"));
+
+        ObjectNode expected = objectMapper.valueToTree(employee);
+        expected.retain(fields.stream().map(EmployeeField::getProperty).toList());
+
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        ByteArrayOutputStream projected = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(full, JsonEncoding.UTF8)) {
+            employeeJsonWriter.write(generator, employee, List.of(EmployeeField.values()));
+        }
+        try (JsonGenerator generator = objectMapper.createGenerator(projected, JsonEncoding.UTF8)) {
+            employeeJsonWriter.write(generator, employee, fields);
+        }
+        assertEquals(objectMapper.writeValueAsString(employee), full.toString(StandardCharsets.UTF_8));
+        assertEquals(objectMapper.writeValueAsString(expected), projected.toString(StandardCharsets.UTF_8));
+    }
+
+    private String writeArray(List<Employee> employees) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (Employee employee : employees) {
+                employeeJsonWriter.write(generator, employee);
+            }
+            generator.writeEndArray();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package employee.repository;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeField;
+import com.employee.model.Employee;
+import com.employee.repository.EmployeeRepository;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = EmployeeApiApplication.class)
+@Transactional
+class EmployeeProjectionRepositoryTest {
+
+    private static final List<EmployeeField> FIELDS = List.of(EmployeeField.ID, EmployeeField.FIRST_NAME);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employees = employeeRepository.saveAll(List.of(
+                Employee.builder().firstName("Ana").lastNameFather("Flores").build(),
+                Employee.builder().firstName("Ana_Maria").lastNameFather("Perez").build(),
+                Employee.builder().firstName("100%").lastNameFather("Lopez").build()));
+    }
+
+    @Test
+    void streamFieldsOrderById_ShouldReturnSelectedColumnsInIdOrder() {
+        // When
+        List<Object[]> rows = rows(employeeRepository.streamFieldsOrderById(FIELDS));
+
+        // Then
+        assertEquals(3, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(employees.get(i).getId(), rows.get(i)[0]);
+            assertEquals(employees.get(i).getFirstName(), rows.get(i)[1]);
+        }
+    }
+
+    @Test
+    void streamFieldsBySearchNameContaining_ShouldTreatWildcardsLiterally() {
+        // When/Then
+        assertEquals(List.of("Ana_Maria"), firstNames("a_m"));
+        assertEquals(List.of("100%"), firstNames("0%"));
+        assertEquals(2, firstNames("ana").size());
+    }
+
+    private List<Object> firstNames(String term) {
+        return rows(employeeRepository.streamFieldsBySearchNameContaining(FIELDS, term)).stream()
+                .map(row -> row[1])
+                .toList();
+    }
+
+    private static List<Object[]> rows(Stream<Tuple> tuples) {
+        try (tuples) {
+            return tuples.map(Tuple::toArray).toList();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package employee.repository;
+
+import com.employee.EmployeeApiApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Creates the database from db/schema.sql alone, as the prod profile does, and lets Hibernate validate the
+// entity mappings against it; the context only starts if every table, column and sequence matches.
+@SpringBootTest(classes = EmployeeApiApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:schema",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/schema.sql"
+})
+class EmployeeSchemaTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void schema_ShouldCreateEveryEntityIndex() {
+        // When
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes where table_schema = 'PUBLIC'", String.class);
+
+        // Then
+        for (String index : List.of("idx_employees_change_seq", "idx_employee_search_trigrams", "idx_employee_stats_key",
+                "idx_employee_tombstones_change_seq")) {
+            assertTrue(indexes.contains(index), () -> index + " missing from " + indexes);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package employee.repository;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.model.Employee;
+import com.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class)
+@Transactional
+class EmployeeSearchRepositoryTest {
+
+    private static final String TRIGRAMS_OF = "select trigram from employee_search_trigrams where employee_id = ?";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee flores;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        flores = employeeRepository.save(Employee.builder().firstName("Ana").lastNameFather("Flores")
+                .middleName("Lucia").lastNameMother("Diaz").build());
+        employeeRepository.saveAndFlush(Employee.builder().firstName("Juan").lastNameFather("Perez").build());
+    }
+
+    @Test
+    void save_ShouldIndexTrigramsOfEitherHalfOnly() {
+        // When
+        Set<String> trigrams = new HashSet<>(jdbcTemplate.queryForList(TRIGRAMS_OF, String.class, flores.getId()));
+
+        // Then
+        assertEquals(Employee.searchTrigrams("ana flores|lucia diaz"), trigrams);
+        assertTrue(trigrams.contains("luc"));
+        assertTrue(trigrams.stream().noneMatch(trigram -> trigram.contains(Employee.SEARCH_SEPARATOR)));
+    }
+
+    @Test
+    void findBySearchNameContaining_ShouldMatchAnySubstringOfAHalf() {
+        // When/Then
+        assertEquals(List.of("Ana"), firstNames("a flo"));
+        assertEquals(List.of("Ana"), firstNames("lucia d"));
+        assertEquals(List.of("Juan"), firstNames("pe"));
+        assertEquals(List.of(), firstNames("floresl"));
+    }
+
+    @Test
+    void save_WhenNameChanges_ShouldReindexTrigrams() {
+        // Given
+        flores.setLastNameFather("Rojas");
+
+        // When
+        employeeRepository.saveAndFlush(flores);
+
+        // Then
+        assertEquals(List.of(), firstNames("flores"));
+        assertEquals(List.of("Ana"), firstNames("ana rojas"));
+        assertEquals(Employee.searchTrigrams("ana rojas|lucia diaz"),
+                new HashSet<>(jdbcTemplate.queryForList(TRIGRAMS_OF, String.class, flores.getId())));
+    }
+
+    @Test
+    void backfillSearchTrigrams_ShouldBuildTheSameTrigramsAsTheEntity() {
+        // Given
+        jdbcTemplate.update("delete from employee_search_trigrams where employee_id = ?", flores.getId());
+
+        // When
+        employeeRepository.backfillSearchTrigrams();
+
+        // Then
+        assertEquals(Employee.searchTrigrams("ana flores|lucia diaz"),
+                new HashSet<>(jdbcTemplate.queryForList(TRIGRAMS_OF, String.class, flores.getId())));
+    }
+
+    @Test
+    void removeById_ShouldDropTheTrigrams() {
+        // When
+        employeeRepository.removeById(flores.getId());
+
+        // Then
+        assertEquals(List.of(), jdbcTemplate.queryForList(TRIGRAMS_OF, String.class, flores.getId()));
+    }
+
+    private List<String> firstNames(String term) {
+        entityManager.clear();
+        return employeeRepository.findBySearchNameContaining(term).stream()
+                .map(Employee::getFirstName)
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package employee.routing;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stands in for replication between two in-memory H2 databases: a replica only changes when a test
+ * copies the primary over it, so tests control exactly how far it lags.
+ */
+public final class H2Replication {
+
+    private H2Replication() {
+    }
+
+    // Replaces everything in the replica with a copy of the primary, as of now.
+    public static void sync(String primaryUrl, String replicaUrl) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    // Empties the replica, so every read of it fails like a replica that lost its data.
+    public static void clear(String replicaUrl) throws SQLException {
+        try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+}
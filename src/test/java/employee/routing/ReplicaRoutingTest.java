@@ -0,0 +1,134 @@
+package employee.routing;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.repository.EmployeeRepository;
+import com.employee.routing.ReadYourWritesInterceptor;
+import com.employee.routing.ReplicaRouter;
+import com.employee.service.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY,
+                "employee.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA,
+                "employee.datasource.health-interval=PT0.05S",
+                "employee.datasource.max-replica-lag=PT1M",
+                "employee.datasource.read-your-writes=PT5S",
+                "spring.cache.type=none"
+        })
+class ReplicaRoutingTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:routing-primary";
+    static final String REPLICA = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        employeeRepository.deleteAll();
+        H2Replication.sync(PRIMARY, REPLICA);
+        await(() -> replicaRouter.getHealthyReplicas() == 1);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldReadTheReplica() throws Exception {
+        // Given
+        employeeService.createEmployee(EmployeeDTO.builder().firstName("Lagging").lastNameFather("Write").build());
+
+        // When/Then
+        assertEquals(0, employeeService.getAllEmployees().size());
+        assertEquals(0, employeeService.searchEmployeesByName("lagging").size());
+        assertEquals(1, ReplicaRouter.onPrimary(employeeService::getAllEmployees).size());
+
+        H2Replication.sync(PRIMARY, REPLICA);
+        assertEquals(1, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void readAfterOwnWrite_WithCookie_ShouldReadThePrimary() throws Exception {
+        // Given
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/employees"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("[{\"firstName\":\"Own\",\"lastNameFather\":\"Write\"}]"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        String cookie = created.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+
+        // When
+        JsonNode withCookie = page(HttpRequest.newBuilder(uri("/employees?size=50")).header("Cookie", cookie));
+        JsonNode withoutCookie = page(HttpRequest.newBuilder(uri("/employees?size=50")));
+        JsonNode forged = page(HttpRequest.newBuilder(uri("/employees?size=50"))
+                .header("Cookie", ReadYourWritesInterceptor.COOKIE + "=" + Long.MAX_VALUE));
+
+        // Then
+        assertEquals(200, created.statusCode());
+        assertTrue(cookie.startsWith(ReadYourWritesInterceptor.COOKIE + "="));
+        assertEquals(1, withCookie.path("content").size());
+        assertEquals(0, withoutCookie.path("content").size());
+        assertEquals(0, forged.path("content").size());
+    }
+
+    @Test
+    void unhealthyReplica_ShouldBeLeftOutUntilItRecovers() throws Exception {
+        // Given
+        employeeService.createEmployee(EmployeeDTO.builder().firstName("Only").lastNameFather("Primary").build());
+        H2Replication.clear(REPLICA);
+
+        // When
+        await(() -> replicaRouter.getHealthyReplicas() == 0);
+
+        // Then
+        assertEquals(1, employeeService.getAllEmployees().size());
+        H2Replication.sync(PRIMARY, REPLICA);
+        await(() -> replicaRouter.getHealthyReplicas() == 1);
+        assertEquals(1, employeeService.getAllEmployees().size());
+    }
+
+    private JsonNode page(HttpRequest.Builder request) throws Exception {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !condition.getAsBoolean(); attempt++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,81 @@
+package employee.service;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.config.CachingConfig;
+import com.employee.dto.EmployeeDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = EmployeeApiApplication.class)
+class EmployeeCacheTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE).clear();
+        id = employeeService.createEmployee(EmployeeDTO.builder()
+                .firstName("John")
+                .lastNameFather("Doe")
+                .position("Developer")
+                .active(true)
+                .build()).getId();
+        clearInvocations(employeeRepository);
+    }
+
+    @Test
+    void getEmployeeById_WhenCached_ShouldNotHitRepository() {
+        // When
+        employeeService.getEmployeeById(id);
+
+        // Then
+        verify(employeeRepository, never()).findById(id);
+    }
+
+    @Test
+    void getEmployeeById_AfterUpdate_ShouldReturnUpdatedEmployee() {
+        // Given
+        cacheManager.getCache(CachingConfig.EMPLOYEES_CACHE).evict(id);
+        assertEquals("Developer", employeeService.getEmployeeById(id).getPosition());
+
+        // When
+        employeeService.updateEmployee(id, EmployeeDTO.builder().position("Manager").active(true).build());
+
+        // Then
+        assertEquals("Manager", employeeService.getEmployeeById(id).getPosition());
+    }
+
+    @Test
+    void getEmployeeById_AfterDelete_ShouldThrowException() {
+        // Given
+        employeeService.getEmployeeById(id);
+
+        // When
+        employeeService.deleteEmployee(id);
+
+        // Then
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(id));
+    }
+}
@@ -0,0 +1,150 @@
+package employee.service;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeChangeDTO;
+import com.employee.dto.EmployeeChangesDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.exception.ChangesExpiredException;
+import com.employee.service.EmployeeChangeService;
+import com.employee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class)
+class EmployeeChangeFeedTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeService employeeChangeService;
+
+    // since=0 means an initial sync, so every test starts from a sequence above it.
+    @BeforeEach
+    void setUp() {
+        create("Earlier");
+    }
+
+    @Test
+    void getChanges_ShouldReturnLatestStateAndTombstonesInOrder() {
+        // Given
+        long start = employeeChangeService.getCurrentSeq();
+        Long kept = create("Ana");
+        Long removed = create("Luis");
+        employeeService.updateEmployee(kept, EmployeeDTO.builder().position("Manager").active(true).build());
+        employeeService.deleteEmployee(removed);
+
+        // When
+        EmployeeChangesDTO result = employeeChangeService.getChanges(start, null, 10);
+
+        // Then
+        List<EmployeeChangeDTO> changes = result.getChanges();
+        assertEquals(2, changes.size());
+        assertEquals(kept, changes.get(0).getId());
+        assertEquals(EmployeeChangeDTO.Type.UPSERT, changes.get(0).getType());
+        assertEquals("Manager", changes.get(0).getEmployee().getPosition());
+        assertEquals(removed, changes.get(1).getId());
+        assertEquals(EmployeeChangeDTO.Type.DELETE, changes.get(1).getType());
+        assertNull(changes.get(1).getEmployee());
+        assertEquals(employeeChangeService.getCurrentSeq(), result.getSince());
+        assertFalse(result.isMore());
+    }
+
+    @Test
+    void getChanges_WithSmallLimit_ShouldContinueWithinOneSequence() {
+        // Given
+        long start = employeeChangeService.getCurrentSeq();
+        List<EmployeeDTO> created = employeeService.createMultipleEmployees(List.of(
+                EmployeeDTO.builder().firstName("A").build(),
+                EmployeeDTO.builder().firstName("B").build(),
+                EmployeeDTO.builder().firstName("C").build()));
+        employeeService.deactivateEmployees(EmployeeSelectionDTO.builder()
+                .ids(List.of(created.get(0).getId()))
+                .build());
+
+        // When
+        EmployeeChangesDTO first = employeeChangeService.getChanges(start, null, 2);
+        EmployeeChangesDTO second = employeeChangeService.getChanges(first.getSince(), first.getAfter(), 2);
+
+        // Then
+        assertTrue(first.isMore());
+        assertEquals(List.of(created.get(1).getId(), created.get(2).getId()),
+                first.getChanges().stream().map(EmployeeChangeDTO::getId).toList());
+        assertEquals(List.of(created.get(0).getId()),
+                second.getChanges().stream().map(EmployeeChangeDTO::getId).toList());
+        assertFalse(second.isMore());
+    }
+
+    @Test
+    void compactTombstones_ShouldExpireOlderCursors() {
+        // Given
+        long start = employeeChangeService.getCurrentSeq();
+        employeeService.deleteEmployee(create("Eva"));
+        Object target = AopTestUtils.getTargetObject(employeeChangeService);
+        ReflectionTestUtils.setField(target, "tombstoneRetention", Duration.ofSeconds(-1));
+
+        try {
+            // When
+            assertTrue(employeeChangeService.compactTombstones() >= 1);
+
+            // Then
+            assertThrows(ChangesExpiredException.class, () -> employeeChangeService.getChanges(start, null, 10));
+            assertEquals(0, employeeChangeService.getChanges(employeeChangeService.getCurrentSeq(), null, 10)
+                    .getChanges().size());
+        } finally {
+            ReflectionTestUtils.setField(target, "tombstoneRetention", Duration.ofDays(7));
+        }
+    }
+
+    @Test
+    void getChanges_FromZeroAfterCompaction_ShouldSyncLiveRowsAcrossPages() {
+        // Given
+        Long removed = create("Gone");
+        Long updated = create("Kept");
+        employeeService.deleteEmployee(removed);
+        Object target = AopTestUtils.getTargetObject(employeeChangeService);
+        ReflectionTestUtils.setField(target, "tombstoneRetention", Duration.ofSeconds(-1));
+        try {
+            assertTrue(employeeChangeService.compactTombstones() >= 1);
+        } finally {
+            ReflectionTestUtils.setField(target, "tombstoneRetention", Duration.ofDays(7));
+        }
+
+        // When
+        List<Long> synced = new ArrayList<>();
+        EmployeeChangesDTO page = employeeChangeService.getChanges(0, null, 1);
+        synced.addAll(page.getChanges().stream().map(EmployeeChangeDTO::getId).toList());
+        employeeService.updateEmployee(updated, EmployeeDTO.builder().firstName("Kept").position("Lead").active(true).build());
+        while (page.isMore()) {
+            page = employeeChangeService.getChanges(page.getSince(), page.getAfter(), page.getSyncSeq(), 1);
+            synced.addAll(page.getChanges().stream().map(EmployeeChangeDTO::getId).toList());
+        }
+        EmployeeChangesDTO tail = employeeChangeService.getChanges(page.getSince(), page.getAfter(), page.getSyncSeq(), 10);
+
+        // Then
+        assertTrue(synced.contains(updated));
+        assertFalse(synced.contains(removed));
+        assertEquals("Lead", page.getChanges().get(page.getChanges().size() - 1).getEmployee().getPosition());
+        assertNull(page.getSyncSeq());
+        assertEquals(0, tail.getChanges().size());
+    }
+
+    private Long create(String firstName) {
+        return employeeService.createEmployee(EmployeeDTO.builder().firstName(firstName).active(true).build()).getId();
+    }
+}
@@ -0,0 +1,130 @@
+package employee.service;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeDumpDTO;
+import com.employee.model.TableVersion;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.service.EmployeeChangeService;
+import com.employee.service.EmployeeDumpService;
+import com.employee.service.EmployeeService;
+import com.employee.service.EmployeeStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee-dump-test",
+        "employee.dump.file=target/employee-dump-test/${random.uuid}.bin"
+})
+class EmployeeDumpServiceTest {
+
+    @Autowired
+    private EmployeeDumpService employeeDumpService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeService employeeChangeService;
+
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TableVersionRepository tableVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void restoreIfEmpty_AfterDump_ShouldBringBackEveryEmployeeAndCounter() {
+        // Given
+        employeeService.createMultipleEmployees(List.of(
+                EmployeeDTO.builder().firstName("Dump").lastNameFather("Ñandú").age(30).gender("F")
+                        .birthDate(LocalDate.of(1994, 2, 3)).position("Archivist").active(true).build(),
+                EmployeeDTO.builder().firstName("Dump").middleName("Second").position("Archivist").build()));
+        List<EmployeeDTO> before = sorted(employeeService.getAllEmployees());
+        EmployeeDumpDTO dump = employeeDumpService.dump();
+        employeeRepository.deleteAllInBatch();
+
+        // When
+        Optional<EmployeeDumpDTO> restored = employeeDumpService.restoreIfEmpty();
+
+        // Then
+        assertTrue(restored.isPresent());
+        assertEquals(before.size(), dump.getEmployees());
+        assertEquals(before, sorted(employeeService.getAllEmployees()));
+        assertEquals(dump.getSeq(), employeeChangeService.getCurrentSeq());
+        assertTrue(employeeStatsService.checkStats().isConsistent());
+        assertEquals(before.size(), employeeStatsService.getStats(10).getTotal());
+        assertTrue(employeeService.searchEmployeesByName("ñandú").size() >= 1);
+        long maxId = before.get(before.size() - 1).getId();
+        assertTrue(employeeService.createEmployee(EmployeeDTO.builder().firstName("After").build()).getId() > maxId);
+    }
+
+    @Test
+    void restoreIfEmpty_WhenEmployeesExist_ShouldLeaveThemAlone() {
+        // Given
+        employeeService.createEmployee(EmployeeDTO.builder().firstName("Kept").build());
+        employeeDumpService.dump();
+        long seq = employeeChangeService.getCurrentSeq();
+
+        // When
+        Optional<EmployeeDumpDTO> restored = employeeDumpService.restoreIfEmpty();
+
+        // Then
+        assertTrue(restored.isEmpty());
+        assertEquals(seq, employeeChangeService.getCurrentSeq());
+    }
+
+    @Test
+    void dump_WhileAWriterHoldsTheChangeCounter_ShouldNotWaitForIt() throws Exception {
+        // Given
+        employeeService.createEmployee(EmployeeDTO.builder().firstName("Before").build());
+        long seq = employeeChangeService.getCurrentSeq();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = Thread.ofPlatform().start(() -> transactionTemplate.executeWithoutResult(status -> {
+            tableVersionRepository.lockByTableName(TableVersion.EMPLOYEES);
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            locked.await();
+
+            // When
+            EmployeeDumpDTO dump = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> employeeDumpService.dump());
+
+            // Then
+            assertEquals(seq, dump.getSeq());
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+    }
+
+    private static List<EmployeeDTO> sorted(List<EmployeeDTO> employees) {
+        return employees.stream().sorted(Comparator.comparing(EmployeeDTO::getId)).toList();
+    }
+}
@@ -0,0 +1,165 @@
+package employee.service;
+
+import com.employee.dto.BulkImportErrorDTO;
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.mapper.EmployeeMapper;
+import com.employee.model.Employee;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.service.EmployeeImportServiceImpl;
+import com.employee.service.EmployeeStatsRecorder;
+import com.employee.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Mock
+    private EmployeeStatsRecorder statsRecorder;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeImportServiceImpl importService;
+
+    private final List<List<Employee>> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new EmployeeImportServiceImpl(employeeRepository, tableVersionRepository, statsRecorder, new EmployeeMapper(), entityManager,
+                new TransactionTemplate(transactionManager), new ObjectMapper().registerModule(new JavaTimeModule()), eventPublisher,
+                new ShardRouter(List.of(), 1, List.of(), "", "", true, true, "", new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+    @Test
+    void importEmployees_WithNdjson_ShouldSaveInChunks() {
+        // Given
+        recordSavedChunks();
+        String body = """
+                {"firstName":"John","lastNameFather":"Doe","active":true}
+                {"firstName":"Jane","lastNameFather":"Smith"}
+                {"firstName":"Ann","lastNameFather":"Lee","birthDate":"1990-05-01"}
+                """;
+
+        // When
+        BulkImportResultDTO result = importService.importEmployees(stream(body), NDJSON);
+
+        // Then
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(2, savedChunks.size());
+        assertEquals(2, savedChunks.get(0).size());
+        assertEquals(LocalDate.of(1990, 5, 1), savedChunks.get(1).get(0).getBirthDate());
+        assertNotNull(savedChunks.get(0).get(0).getCreatedAt());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importEmployees_WithInvalidRecord_ShouldReportItAndContinue() {
+        // Given
+        recordSavedChunks();
+        String body = """
+                {"firstName":"John","age":"not a number"}
+                {"firstName":"Jane"}
+                """;
+
+        // When
+        BulkImportResultDTO result = importService.importEmployees(stream(body), NDJSON);
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        BulkImportErrorDTO error = result.getErrors().get(0);
+        assertNull(error.getChunk());
+        assertEquals(1, error.getFirstRecord());
+        assertEquals("Jane", savedChunks.get(0).get(0).getFirstName());
+    }
+
+    @Test
+    void importEmployees_WhenChunkFails_ShouldReportChunkAndImportTheRest() {
+        // Given
+        doAnswer(invocation -> {
+            List<Employee> chunk = invocation.getArgument(0);
+            if ("Bad".equals(chunk.get(0).getFirstName())) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return chunk;
+        }).when(employeeRepository).saveAll(anyList());
+        String csv = """
+                firstName,lastNameFather,age,active
+                Bad,Row,,true
+                Also,Bad,41,false
+                Good,Row,30,true
+                """;
+
+        // When
+        BulkImportResultDTO result = importService.importEmployees(stream(csv), CSV);
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        BulkImportErrorDTO error = result.getErrors().get(0);
+        assertEquals(0, error.getChunk());
+        assertEquals(1, error.getFirstRecord());
+        assertEquals(2, error.getLastRecord());
+        assertEquals("constraint violated", error.getMessage());
+        verify(employeeRepository, times(2)).saveAll(anyList());
+    }
+
+    private void recordSavedChunks() {
+        doAnswer(invocation -> {
+            List<Employee> chunk = invocation.getArgument(0);
+            savedChunks.add(new ArrayList<>(chunk));
+            return chunk;
+        }).when(employeeRepository).saveAll(anyList());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
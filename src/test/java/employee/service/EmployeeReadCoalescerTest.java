@@ -0,0 +1,193 @@
+package employee.service;
+
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.service.EmployeeReadCoalescer;
+import com.employee.service.EmployeesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeReadCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmployeeReadCoalescer coalescer = new EmployeeReadCoalescer(meterRegistry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "searchKey", EmployeeReadCoalescer.SearchKey.CASE_FOLDED);
+        ReflectionTestUtils.setField(coalescer, "maxWait", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(coalescer, "unsharedTtl", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void load_ConcurrentSameKey_ShouldRunLoaderOnce() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CompletableFuture<String> row = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> coalescer.load("id", 1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            return row.join();
+        }));
+        loading.await();
+
+        // When
+        Future<String> follower = executor.submit(() -> coalescer.load("id", 1L, () -> {
+            loads.incrementAndGet();
+            return "own";
+        }));
+        awaitJoined(1);
+        row.complete("shared");
+
+        // Then
+        assertEquals("shared", leader.get());
+        assertEquals("shared", follower.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void load_AfterCommittedWrite_ShouldNotJoinOlderLoad() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CompletableFuture<String> row = new CompletableFuture<>();
+        Future<String> before = executor.submit(() -> coalescer.load("id", 1L, () -> {
+            loading.countDown();
+            return row.join();
+        }));
+        loading.await();
+
+        // When
+        coalescer.onEmployeesChanged(new EmployeesChangedEvent(2));
+        String after = coalescer.load("id", 1L, () -> "updated");
+        row.complete("stale");
+
+        // Then
+        assertEquals("updated", after);
+        assertEquals("stale", before.get());
+    }
+
+    @Test
+    void load_LeaderFails_ShouldRethrowToFollowers() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> coalescer.load("id", 7L, () -> {
+            loading.countDown();
+            awaitQuietly(release);
+            throw new ResourceNotFoundException("Employee not found with id 7");
+        }));
+        loading.await();
+
+        // When
+        Future<Object> follower = executor.submit(() -> coalescer.load("id", 7L, () -> "own"));
+        awaitJoined(1);
+        release.countDown();
+
+        // Then
+        ExecutionException leaderError = assertThrows(ExecutionException.class, leader::get);
+        ExecutionException followerError = assertThrows(ExecutionException.class, follower::get);
+        assertInstanceOf(ResourceNotFoundException.class, leaderError.getCause());
+        assertInstanceOf(ResourceNotFoundException.class, followerError.getCause());
+        assertEquals("own", coalescer.load("id", 7L, () -> "own"));
+    }
+
+    @Test
+    void load_ResultTooLargeToShare_ShouldNotRunOrJoinForLaterCallers() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        coalescer.load("search", "john", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // When
+        Object later = coalescer.load("search", "john", () -> {
+            loads.incrementAndGet();
+            return "shared";
+        });
+
+        // Then
+        assertNull(later);
+        assertEquals(1, loads.get());
+        assertEquals("shared", coalescer.load("search", "jane", () -> "shared"));
+    }
+
+    @Test
+    void load_LeaderSlowerThanMaxWait_ShouldLoadOnItsOwn() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(coalescer, "maxWait", Duration.ofMillis(50));
+        CountDownLatch loading = new CountDownLatch(1);
+        CompletableFuture<String> row = new CompletableFuture<>();
+        Future<String> leader = executor.submit(() -> coalescer.load("id", 3L, () -> {
+            loading.countDown();
+            return row.join();
+        }));
+        loading.await();
+
+        // When
+        String follower = coalescer.load("id", 3L, () -> "own");
+        row.complete("shared");
+
+        // Then
+        assertEquals("own", follower);
+        assertEquals("shared", leader.get());
+        assertEquals(1, meterRegistry.find("employee.coalescing.requests").tag("result", "timed-out").counter().count());
+    }
+
+    @Test
+    void searchTerm_ShouldNormalizePerConfiguredKey() {
+        // When
+        String folded = coalescer.searchTerm(" JoHn ");
+        ReflectionTestUtils.setField(coalescer, "searchKey", EmployeeReadCoalescer.SearchKey.TRIMMED);
+        String trimmed = coalescer.searchTerm(" JoHn ");
+        ReflectionTestUtils.setField(coalescer, "searchKey", EmployeeReadCoalescer.SearchKey.EXACT);
+        String exact = coalescer.searchTerm(" JoHn ");
+
+        // Then
+        assertEquals(" john ", folded);
+        assertEquals("john", trimmed);
+        assertEquals(" JoHn ", exact);
+    }
+
+    // Waits until the follower has registered with the running load.
+    private void awaitJoined(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (joined() < followers) {
+            assertTrue(System.nanoTime() < deadline, "follower did not join");
+            Thread.sleep(1);
+        }
+    }
+
+    private double joined() {
+        var counter = meterRegistry.find("employee.coalescing.requests").tag("result", "joined").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package employee.service;
 
+import com.employee.dto.BulkMutationResultDTO;
+import com.employee.dto.EmployeeBulkUpdateDTO;
 import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeField;
+import com.employee.dto.EmployeeLookupDTO;
+import com.employee.dto.EmployeePageDTO;
+import com.employee.dto.EmployeePatchDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.exception.BadRequestException;
+import com.employee.exception.PreconditionFailedException;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.mapper.EmployeeMapper;
 import com.employee.model.Employee;
+import com.employee.model.TableVersion;
 import com.employee.repository.EmployeeRepository;
+import com.employee.repository.EmployeeTombstoneRepository;
+import com.employee.repository.TableVersionRepository;
+import com.employee.routing.ReplicaRouter;
+import com.employee.service.EmployeeReadCoalescer;
 import com.employee.service.EmployeeServiceImpl;
+import com.employee.service.EmployeeStatsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,9 +60,30 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private TableVersionRepository tableVersionRepository;
+
+    @Mock
+    private EmployeeTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private EmployeeStatsRecorder statsRecorder;
+
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReplicaRouter replicaRouter;
+
+    @Spy
+    private CacheManager cacheManager = new NoOpCacheManager();
+
+    @Spy
+    private EmployeeReadCoalescer employeeReadCoalescer = new EmployeeReadCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -48,6 +94,10 @@ class EmployeeServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(employeeService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(employeeService, "maxIdsPerRequest", 5);
+        ReflectionTestUtils.setField(employeeService, "idChunkSize", 2);
+
         employee = Employee.builder()
                 .id(1L)
                 .firstName("John")
@@ -148,13 +198,14 @@ class EmployeeServiceTest {
         verify(employeeMapper).toEntity(employeeDTO);
         verify(employeeRepository).save(employee);
         verify(employeeMapper).toDTO(employee);
+        verify(tableVersionRepository).increment(TableVersion.EMPLOYEES);
     }
 
     @Test
     void updateEmployee_WhenEmployeeExists_ShouldReturnUpdatedEmployeeDTO() {
         // Given
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeRepository.save(employee)).thenReturn(employee);
+        when(employeeRepository.saveAndFlush(employee)).thenReturn(employee);
         when(employeeMapper.toDTO(employee)).thenReturn(employeeDTO);
 
         // When
@@ -164,7 +215,7 @@ class EmployeeServiceTest {
         assertNotNull(result);
         assertEquals(employeeDTO, result);
         verify(employeeRepository).findById(1L);
-        verify(employeeRepository).save(employee);
+        verify(employeeRepository).saveAndFlush(employee);
         verify(employeeMapper).toDTO(employee);
         verify(employeeMapper).updateEntityFromDTO(employeeDTO, employee);
     }
@@ -184,36 +235,167 @@ class EmployeeServiceTest {
     }
 
     @Test
-    void deleteEmployee_WhenEmployeeExists_ShouldDeleteSuccessfully() {
+    void updateEmployee_WhenVersionIsStale_ShouldThrowException() {
         // Given
+        employee.setVersion(3L);
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
 
+        // When/Then
+        assertThrows(PreconditionFailedException.class, () -> {
+            employeeService.updateEmployee(1L, employeeDTO, 2L);
+        });
+        verify(employeeMapper, never()).updateEntityFromDTO(any(), any());
+        verify(employeeRepository, never()).saveAndFlush(any());
+        verify(tableVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    void getEmployeesByIds_ShouldQueryInChunksAndKeepRequestOrder() {
+        // Given
+        when(employeeRepository.findAllById(List.of(2L, 9L))).thenReturn(List.of(employeeList.get(1)));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(employee));
+        when(employeeMapper.toDTO(employeeList.get(1))).thenReturn(employeeDTOList.get(1));
+        when(employeeMapper.toDTO(employee)).thenReturn(employeeDTO);
+
+        // When
+        List<EmployeeLookupDTO> result = employeeService.getEmployeesByIds(List.of(2L, 9L, 1L, 2L));
+
+        // Then
+        assertEquals(List.of(2L, 9L, 1L, 2L), result.stream().map(EmployeeLookupDTO::getId).toList());
+        assertEquals(employeeDTOList.get(1), result.get(0).getEmployee());
+        assertFalse(result.get(1).isFound());
+        assertNull(result.get(1).getEmployee());
+        assertEquals(employeeDTO, result.get(2).getEmployee());
+        assertTrue(result.get(3).isFound());
+        verify(employeeRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void getEmployeesByIds_WhenTooManyIds_ShouldThrowBadRequest() {
+        // When/Then
+        assertThrows(BadRequestException.class, () -> {
+            employeeService.getEmployeesByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        });
+        verify(employeeRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getEmployeeVersion_WhenEmployeeExists_ShouldReturnVersion() {
+        // Given
+        when(employeeRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When/Then
+        assertEquals(3L, employeeService.getEmployeeVersion(1L));
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @Test
+    void getEmployeeVersion_WhenEmployeeDoesNotExist_ShouldThrowException() {
+        // Given
+        when(employeeRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.getEmployeeVersion(1L);
+        });
+    }
+
+    @Test
+    void deleteEmployee_WhenEmployeeExists_ShouldDeleteSuccessfully() {
+        // Given
+        when(tableVersionRepository.lockNext(TableVersion.EMPLOYEES)).thenReturn(7L);
+        when(tombstoneRepository.insertForIds(eq(List.of(1L)), eq(7L), any())).thenReturn(1);
+
         // When
         employeeService.deleteEmployee(1L);
 
         // Then
-        verify(employeeRepository).findById(1L);
-        verify(employeeRepository).delete(employee);
+        verify(employeeRepository).removeById(1L);
+        verify(employeeRepository, never()).findById(any());
+        verify(tableVersionRepository).increment(TableVersion.EMPLOYEES);
     }
 
     @Test
     void deleteEmployee_WhenEmployeeDoesNotExist_ShouldThrowException() {
         // Given
-        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tombstoneRepository.insertForIds(eq(List.of(1L)), eq(0L), any())).thenReturn(0);
 
         // When/Then
         assertThrows(ResourceNotFoundException.class, () -> {
             employeeService.deleteEmployee(1L);
         });
-        verify(employeeRepository).findById(1L);
-        verify(employeeRepository, never()).delete(any());
+        verify(employeeRepository, never()).removeById(any());
+        verify(tableVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    void updateEmployees_ByPosition_ShouldRunOneStatement() {
+        // Given
+        EmployeeBulkUpdateDTO request = EmployeeBulkUpdateDTO.builder()
+                .where(EmployeeSelectionDTO.builder().position("Intern").build())
+                .set(EmployeePatchDTO.builder().position("Junior Developer").build())
+                .build();
+        Map<EmployeeField, Object> changes = Map.of(EmployeeField.POSITION, "Junior Developer");
+        when(employeeMapper.toChanges(request.getSet())).thenReturn(changes);
+        when(tableVersionRepository.lockNext(TableVersion.EMPLOYEES)).thenReturn(3L);
+        when(employeeRepository.updateByPosition(changes, "Intern", 3L)).thenReturn(20_000);
+
+        // When
+        BulkMutationResultDTO result = employeeService.updateEmployees(request);
+
+        // Then
+        assertEquals(20_000, result.getAffected());
+        verify(tableVersionRepository).increment(TableVersion.EMPLOYEES);
+    }
+
+    @Test
+    void updateEmployees_WithoutSelection_ShouldThrowBadRequest() {
+        // Given
+        EmployeeBulkUpdateDTO request = EmployeeBulkUpdateDTO.builder()
+                .where(EmployeeSelectionDTO.builder().ids(List.of(1L)).position("Intern").build())
+                .set(EmployeePatchDTO.builder().active(false).build())
+                .build();
+        when(employeeMapper.toChanges(request.getSet())).thenReturn(Map.of(EmployeeField.ACTIVE, false));
+
+        // When/Then
+        assertThrows(BadRequestException.class, () -> {
+            employeeService.updateEmployees(request);
+        });
+    }
+
+    @Test
+    void deactivateEmployees_ByIds_ShouldUpdateInChunks() {
+        // Given
+        Map<EmployeeField, Object> changes = Map.of(EmployeeField.ACTIVE, false);
+        when(employeeRepository.updateByIdIn(changes, List.of(1L, 2L), 0L)).thenReturn(2);
+        when(employeeRepository.updateByIdIn(changes, List.of(3L), 0L)).thenReturn(0);
+
+        // When
+        BulkMutationResultDTO result = employeeService.deactivateEmployees(
+                EmployeeSelectionDTO.builder().ids(List.of(1L, 2L, 3L)).build());
+
+        // Then
+        assertEquals(2, result.getAffected());
+    }
+
+    @Test
+    void deleteEmployees_WhenNoneExist_ShouldNotBumpTableVersion() {
+        // Given
+        when(employeeRepository.removeByIdIn(List.of(8L, 9L))).thenReturn(0);
+
+        // When
+        BulkMutationResultDTO result = employeeService.deleteEmployees(List.of(8L, 9L));
+
+        // Then
+        assertEquals(0, result.getAffected());
+        verify(tableVersionRepository, never()).increment(any());
     }
 
     @Test
     void searchEmployeesByName_ShouldReturnMatchingEmployees() {
         // Given
         String searchName = "John";
-        when(employeeRepository.findByFirstNameContainingIgnoreCase(searchName)).thenReturn(List.of(employee));
+        when(employeeRepository.findBySearchNameContaining("john")).thenReturn(List.of(employee));
         when(employeeMapper.toDTO(employee)).thenReturn(employeeDTO);
 
         // When
@@ -223,7 +405,7 @@ class EmployeeServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(employeeDTO, result.get(0));
-        verify(employeeRepository).findByFirstNameContainingIgnoreCase(searchName);
+        verify(employeeRepository).findBySearchNameContaining("john");
         verify(employeeMapper).toDTO(employee);
     }
 
@@ -231,7 +413,7 @@ class EmployeeServiceTest {
     void searchEmployeesByName_WhenNoMatches_ShouldReturnEmptyList() {
         // Given
         String searchName = "NonExistent";
-        when(employeeRepository.findByFirstNameContainingIgnoreCase(searchName)).thenReturn(Collections.emptyList());
+        when(employeeRepository.findBySearchNameContaining("nonexistent")).thenReturn(Collections.emptyList());
 
         // When
         List<EmployeeDTO> result = employeeService.searchEmployeesByName(searchName);
@@ -239,7 +421,63 @@ class EmployeeServiceTest {
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(employeeRepository).findByFirstNameContainingIgnoreCase(searchName);
+        verify(employeeRepository).findBySearchNameContaining("nonexistent");
         verify(employeeMapper, never()).toDTO(any());
     }
+
+    @Test
+    void searchEmployeesByName_WhenNameContainsSeparator_ShouldReject() {
+        // When/Then
+        assertThrows(BadRequestException.class, () -> employeeService.searchEmployeesByName("|"));
+        assertThrows(BadRequestException.class, () -> employeeService.searchEmployeesByName("flores|lucia"));
+        verify(employeeRepository, never()).findBySearchNameContaining(any());
+    }
+
+    @Test
+    void getEmployeesPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Given
+        when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(employeeList);
+        when(employeeMapper.toDTO(employee)).thenReturn(employeeDTO);
+
+        // When
+        EmployeePageDTO result = employeeService.getEmployeesPage(null, 1);
+
+        // Then
+        assertEquals(List.of(employeeDTO), result.getContent());
+        assertEquals(1L, result.getNextCursor());
+        verify(employeeMapper, times(1)).toDTO(any(Employee.class));
+    }
+
+    @Test
+    void getEmployeesPage_WhenLastPage_ShouldReturnNullCursor() {
+        // Given
+        when(employeeRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(11))).thenReturn(List.of(employeeList.get(1)));
+        when(employeeMapper.toDTO(employeeList.get(1))).thenReturn(employeeDTOList.get(1));
+
+        // When
+        EmployeePageDTO result = employeeService.getEmployeesPage(1L, 10);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getEmployeesPage_WhenSizeAboveCap_ShouldClampToMaxPageSize() {
+        // Given
+        when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(501))).thenReturn(Collections.emptyList());
+
+        // When
+        EmployeePageDTO result = employeeService.getEmployeesPage(null, 10_000);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        verify(employeeRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(501));
+    }
+
+    @Test
+    void getEmployeesPage_WhenSizeInvalid_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesPage(null, 0));
+        verify(employeeRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
 }
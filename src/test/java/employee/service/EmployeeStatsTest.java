@@ -0,0 +1,146 @@
+package employee.service;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeAgeBucketDTO;
+import com.employee.dto.EmployeeBulkUpdateDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeePatchDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.dto.EmployeeStatCountDTO;
+import com.employee.dto.EmployeeStatsCheckDTO;
+import com.employee.dto.EmployeeStatsDTO;
+import com.employee.repository.EmployeeStatRepository;
+import com.employee.service.EmployeeService;
+import com.employee.service.EmployeeStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class)
+class EmployeeStatsTest {
+
+    private static final String[] POSITIONS = {"StatsDev", "StatsOps", "StatsQa"};
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
+    @Autowired
+    private EmployeeStatRepository statRepository;
+
+    @Test
+    void getStats_ShouldFollowEveryKindOfWrite() {
+        // Given
+        long before = employeeStatsService.getStats(10).getTotal();
+        List<EmployeeDTO> created = employeeService.createMultipleEmployees(List.of(
+                employee("StatsLead", "F", 34),
+                employee("StatsLead", "M", 41),
+                employee("StatsLead", null, null)));
+        employeeService.updateEmployee(created.get(0).getId(), employee("StatsLead", "F", 35));
+        employeeService.deactivateEmployees(EmployeeSelectionDTO.builder().position("StatsLead").build());
+        employeeService.updateEmployees(EmployeeBulkUpdateDTO.builder()
+                .where(EmployeeSelectionDTO.builder().ids(List.of(created.get(1).getId())).build())
+                .set(EmployeePatchDTO.builder().position("StatsChief").build())
+                .build());
+        employeeService.deleteEmployee(created.get(2).getId());
+
+        // When
+        EmployeeStatsDTO stats = employeeStatsService.getStats(10);
+
+        // Then
+        assertEquals(before + 2, stats.getTotal());
+        assertEquals(1, count(stats.getByPosition(), "StatsLead"));
+        assertEquals(1, count(stats.getByPosition(), "StatsChief"));
+        assertTrue(stats.getAgeBuckets().contains(new EmployeeAgeBucketDTO(30, 39, bucket(stats, 30))));
+        assertTrue(employeeStatsService.checkStats().isConsistent());
+    }
+
+    @Test
+    void getStats_UnderConcurrentWrites_ShouldStayExact() throws Exception {
+        // Given
+        int writers = 8;
+        int perWriter = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        try {
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        String position = POSITIONS[(writer + i) % POSITIONS.length];
+                        Long id = employeeService.createEmployee(employee(position, i % 2 == 0 ? "F" : "M", 20 + i)).getId();
+                        if (i % 3 == 0) {
+                            try {
+                                employeeService.updateEmployee(id, employee(POSITIONS[i % POSITIONS.length], "F", 60));
+                            } catch (OptimisticLockingFailureException e) {
+                                // A concurrent deactivation won; the rolled-back update must leave no delta behind.
+                            }
+                        }
+                        if (i % 5 == 0) {
+                            employeeService.deleteEmployee(id);
+                        }
+                        if (i % 7 == 0) {
+                            employeeService.deactivateEmployees(EmployeeSelectionDTO.builder().position(position).build());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        EmployeeStatsCheckDTO check = employeeStatsService.checkStats();
+        assertTrue(check.isConsistent(), () -> "Mismatches: " + check.getMismatches());
+        assertEquals(check.getEmployees(), employeeStatsService.getStats(10).getTotal());
+    }
+
+    @Test
+    void rebuildStats_ShouldRepairDrift() {
+        // Given
+        employeeService.createEmployee(employee("StatsDrift", "F", 50));
+        statRepository.deleteAllInBatch();
+
+        // When
+        EmployeeStatsCheckDTO repaired = employeeStatsService.rebuildStats();
+
+        // Then
+        assertFalse(repaired.isConsistent());
+        assertTrue(employeeStatsService.checkStats().isConsistent());
+        assertEquals(1, count(employeeStatsService.getStats(10).getByPosition(), "StatsDrift"));
+    }
+
+    private static EmployeeDTO employee(String position, String gender, Integer age) {
+        return EmployeeDTO.builder().firstName("Stat").position(position).gender(gender).age(age).active(true).build();
+    }
+
+    private static long count(List<EmployeeStatCountDTO> counts, String value) {
+        return counts.stream().filter(c -> value.equals(c.getValue())).mapToLong(EmployeeStatCountDTO::getCount).sum();
+    }
+
+    private static long bucket(EmployeeStatsDTO stats, int minAge) {
+        return stats.getAgeBuckets().stream()
+                .filter(b -> b.getMinAge() != null && b.getMinAge() == minAge)
+                .mapToLong(EmployeeAgeBucketDTO::getCount)
+                .sum();
+    }
+}
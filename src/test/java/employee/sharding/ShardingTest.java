@@ -0,0 +1,228 @@
+package employee.sharding;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeLookupDTO;
+import com.employee.dto.EmployeePageDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.metrics.StatementCounter;
+import com.employee.service.EmployeeImportService;
+import com.employee.service.EmployeeService;
+import com.employee.service.EmployeeStatsService;
+import com.employee.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EmployeeApiApplication.class,
+        properties = {
+                "spring.datasource.url=" + ShardingTest.SHARD_0,
+                "employee.datasource.shard-urls=" + ShardingTest.SHARD_1 + "," + ShardingTest.SHARD_2,
+                "spring.cache.type=none",
+                "employee.bulk.chunk-size=2",
+                "employee.changes.enabled=false",
+                "employee.snapshot.enabled=false"
+        })
+class ShardingTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:sharding-0";
+    static final String SHARD_1 = "jdbc:h2:mem:sharding-1;DB_CLOSE_DELAY=-1";
+    static final String SHARD_2 = "jdbc:h2:mem:sharding-2;DB_CLOSE_DELAY=-1";
+    private static final List<String> SHARDS = List.of(SHARD_0, SHARD_1, SHARD_2);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> ids = employeeService.getAllEmployees().stream().map(EmployeeDTO::getId).toList();
+        employeeService.deleteEmployees(ids);
+    }
+
+    @Test
+    void createdEmployees_ShouldBeStoredOnTheShardTheirIdBelongsTo() {
+        // Given
+        List<EmployeeDTO> created = employeeService.createMultipleEmployees(employees("Spread", 30));
+        employeeService.createEmployee(EmployeeDTO.builder().firstName("Single").lastNameFather("Row").build());
+
+        // When
+        List<List<Long>> idsByShard = new ArrayList<>();
+        for (String url : SHARDS) {
+            idsByShard.add(ids(url));
+        }
+
+        // Then
+        assertEquals(List.of("Spread0", "Spread1", "Spread29"),
+                List.of(created.get(0).getFirstName(), created.get(1).getFirstName(), created.get(29).getFirstName()));
+        assertEquals(31, idsByShard.stream().mapToInt(List::size).sum());
+        assertEquals(31, idsByShard.stream().flatMap(List::stream).distinct().count());
+        for (int shard = 0; shard < SHARDS.size(); shard++) {
+            assertTrue(idsByShard.get(shard).size() >= 10, "shard " + shard + " holds " + idsByShard.get(shard));
+            for (Long id : idsByShard.get(shard)) {
+                assertEquals(shard, shardRouter.shardOf(id), "id " + id);
+            }
+        }
+    }
+
+    @Test
+    void bulkImport_ShouldDealChunksOutToEveryShard() {
+        // Given
+        String body = IntStream.range(0, 6)
+                .mapToObj(i -> "{\"firstName\":\"Imported" + i + "\",\"lastNameFather\":\"Shard\"}\n")
+                .collect(Collectors.joining());
+
+        // When
+        BulkImportResultDTO result = employeeImportService.importEmployees(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), MediaType.parseMediaType("application/x-ndjson"));
+
+        // Then
+        assertEquals(6, result.getImported());
+        for (int shard = 0; shard < SHARDS.size(); shard++) {
+            List<Long> ids = ids(SHARDS.get(shard));
+            assertEquals(2, ids.size(), "shard " + shard + " holds " + ids);
+            for (Long id : ids) {
+                assertEquals(shard, shardRouter.shardOf(id), "id " + id);
+            }
+        }
+    }
+
+    @Test
+    void pagesStreamsAndSearch_ShouldMergeShardsInIdOrder() throws Exception {
+        // Given
+        List<Long> expected = employeeService.createMultipleEmployees(employees("Merged", 25))
+                .stream().map(EmployeeDTO::getId).sorted().toList();
+
+        // When
+        List<Long> paged = new ArrayList<>();
+        Long cursor = null;
+        do {
+            EmployeePageDTO page = employeeService.getEmployeesPage(cursor, 7);
+            page.getContent().forEach(employee -> paged.add(employee.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            employeeService.writeAllEmployees(generator);
+            generator.writeEndArray();
+        }
+        List<Long> streamed = new ArrayList<>();
+        for (JsonNode employee : objectMapper.readTree(out.toByteArray())) {
+            streamed.add(employee.path("id").asLong());
+        }
+
+        // Then
+        assertEquals(expected, paged);
+        assertEquals(expected, streamed);
+        assertEquals(expected, employeeService.searchEmployeesByName("merged").stream().map(EmployeeDTO::getId).toList());
+        assertEquals(expected, employeeService.getAllEmployees().stream().map(EmployeeDTO::getId).toList());
+        assertEquals(25, employeeStatsService.getStats(10).getTotal());
+        assertTrue(employeeStatsService.checkStats().isConsistent());
+    }
+
+    @Test
+    void singleIdOperations_ShouldReachTheOwningShard() {
+        // Given
+        List<EmployeeDTO> created = employeeService.createMultipleEmployees(employees("Owned", 3));
+        Long id = created.get(2).getId();
+
+        // When
+        EmployeeDTO updated = employeeService.updateEmployee(id,
+                EmployeeDTO.builder().firstName("Renamed").lastNameFather("Owned").build());
+        List<EmployeeLookupDTO> lookups = employeeService.getEmployeesByIds(List.of(id, -1L, created.get(0).getId()));
+        employeeService.deleteEmployee(created.get(1).getId());
+
+        // Then
+        assertEquals("Renamed", employeeService.getEmployeeById(id).getFirstName());
+        assertEquals(updated.getVersion(), employeeService.getEmployeeVersion(id));
+        assertEquals(List.of(true, false, true), lookups.stream().map(EmployeeLookupDTO::isFound).toList());
+        assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(created.get(1).getId()));
+        assertFalse(ids(SHARDS.get(shardRouter.shardOf(created.get(1).getId()))).contains(created.get(1).getId()));
+        assertEquals(2, employeeService.deleteEmployees(List.of(created.get(0).getId(), id, created.get(1).getId()))
+                .getAffected());
+    }
+
+    @Test
+    void scatterGather_ShouldCountEveryShardsStatementsTowardTheCaller() {
+        // Given
+        employeeService.createMultipleEmployees(employees("Counted", 3));
+        StatementCounter.reset();
+
+        // When
+        employeeService.getAllEmployees();
+        int statements = StatementCounter.current();
+        StatementCounter.clear();
+
+        // Then
+        assertTrue(statements >= shardRouter.getShardCount(), () -> statements + " statements counted");
+    }
+
+    @Test
+    void shardRouter_WithSingleDatabaseFeaturesOn_ShouldRefuseToStart() {
+        // When
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> new ShardRouter(List.of(SHARD_1),
+                1, List.of(), "sa", "", true, false, "employees.dump", new SimpleMeterRegistry()));
+
+        // Then
+        assertTrue(error.getMessage().contains("employee.changes.enabled"));
+        assertTrue(error.getMessage().contains("employee.dump.file"));
+        assertFalse(error.getMessage().contains("employee.snapshot.enabled"));
+    }
+
+    private static List<EmployeeDTO> employees(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmployeeDTO.builder().firstName(prefix + i).lastNameFather("Shard").age(20 + i).build())
+                .toList();
+    }
+
+    private static List<Long> ids(String url) {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select id from employees order by id")) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return ids;
+    }
+}
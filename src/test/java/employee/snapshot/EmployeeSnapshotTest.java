@@ -0,0 +1,139 @@
+package employee.snapshot;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.dto.EmployeeFilterDTO;
+import com.employee.dto.EmployeeFilterResultDTO;
+import com.employee.dto.EmployeeSelectionDTO;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.EmployeeService;
+import com.employee.snapshot.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = EmployeeApiApplication.class)
+class EmployeeSnapshotTest {
+
+    private static final String[] POSITIONS = {"SnapDev", "SnapOps", "SnapQa"};
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeSnapshot employeeSnapshot;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Test
+    void filter_ShouldMatchTheTableAfterEveryWrite() {
+        // Given
+        List<EmployeeDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            dtos.add(EmployeeDTO.builder()
+                    .firstName("Snap")
+                    .position(POSITIONS[i % POSITIONS.length])
+                    .gender(i % 2 == 0 ? "F" : "M")
+                    .age(i % 7 == 0 ? null : 20 + i % 40)
+                    .birthDate(LocalDate.of(1970, 1, 1).plusDays(i * 37L))
+                    .active(i % 4 != 0)
+                    .build());
+        }
+        List<EmployeeDTO> created = employeeService.createMultipleEmployees(dtos);
+        employeeService.updateEmployee(created.get(1).getId(), EmployeeDTO.builder()
+                .position("SnapDev").gender("F").age(30).active(true).build());
+        employeeService.deleteEmployee(created.get(2).getId());
+        employeeService.deactivateEmployees(EmployeeSelectionDTO.builder().position("SnapOps").build());
+        EmployeeFilterDTO filter = EmployeeFilterDTO.builder()
+                .positions(List.of("SnapDev", "SnapOps"))
+                .genders(List.of("F"))
+                .minAge(25)
+                .maxAge(45)
+                .bornFrom(LocalDate.of(1975, 1, 1))
+                .limit(10000)
+                .build();
+
+        // When
+        EmployeeFilterResultDTO result = employeeSnapshot.filter(filter);
+
+        // Then
+        List<Long> expected = employeeRepository.findAll().stream()
+                .filter(e -> List.of("SnapDev", "SnapOps").contains(e.getPosition()))
+                .filter(e -> "F".equals(e.getGender()))
+                .filter(e -> e.getAge() != null && e.getAge() >= 25 && e.getAge() <= 45)
+                .filter(e -> !e.getBirthDate().isBefore(LocalDate.of(1975, 1, 1)))
+                .map(e -> e.getId())
+                .sorted()
+                .toList();
+        assertEquals(expected, result.getIds());
+        assertEquals(expected.size(), result.getCount());
+    }
+
+    @Test
+    void filter_ByActiveWithSmallLimit_ShouldCountEveryMatch() {
+        // Given
+        employeeService.createMultipleEmployees(List.of(
+                EmployeeDTO.builder().firstName("A").position("SnapLimit").active(false).build(),
+                EmployeeDTO.builder().firstName("B").position("SnapLimit").active(false).build(),
+                EmployeeDTO.builder().firstName("C").position("SnapLimit").active(true).build()));
+
+        // When
+        EmployeeFilterResultDTO result = employeeSnapshot.filter(EmployeeFilterDTO.builder()
+                .positions(List.of("SnapLimit"))
+                .active(false)
+                .limit(1)
+                .build());
+
+        // Then
+        assertEquals(2, result.getCount());
+        assertEquals(1, result.getIds().size());
+    }
+
+    @Test
+    void filter_WhenAnotherInstanceWroteAHigherIdFirst_ShouldInsertTheLowerIdWithoutReloading() {
+        // Given: this instance holds an id block, and another one on the database takes the next block.
+        // Two creates, because the first block Hibernate hands out from a fresh sequence holds one id.
+        List<Long> first = employeeService.createMultipleEmployees(List.of(
+                        EmployeeDTO.builder().firstName("A").position("SnapOrder").build(),
+                        EmployeeDTO.builder().firstName("A").position("SnapOrder").build()))
+                .stream().map(EmployeeDTO::getId).toList();
+        try (ConfigurableApplicationContext other = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0", "--spring.datasource.url=" + datasourceUrl)) {
+            Long higher = other.getBean(EmployeeService.class)
+                    .createEmployee(EmployeeDTO.builder().firstName("B").position("SnapOrder").build()).getId();
+            clearInvocations(employeeRepository);
+
+            // When
+            Long lower = employeeService.createEmployee(EmployeeDTO.builder().firstName("C").position("SnapOrder")
+                    .build()).getId();
+            EmployeeFilterResultDTO result = employeeSnapshot.filter(EmployeeFilterDTO.builder()
+                    .positions(List.of("SnapOrder"))
+                    .limit(10)
+                    .build());
+
+            // Then
+            assertTrue(lower < higher);
+            assertEquals(List.of(first.get(0), first.get(1), lower, higher), result.getIds());
+            verify(employeeRepository, never()).streamFieldsOrderById(any());
+        }
+    }
+}
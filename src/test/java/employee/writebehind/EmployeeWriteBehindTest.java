@@ -0,0 +1,179 @@
+package employee.writebehind;
+
+import com.employee.EmployeeApiApplication;
+import com.employee.dto.EmployeeDTO;
+import com.employee.metrics.StatementCounter;
+import com.employee.model.Employee;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.EmployeeService;
+import com.employee.writebehind.EmployeeWriteBehindBuffer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Nothing is flushed on a timer or by size during these tests; only requests and explicit flushes write.
+@SpringBootTest(classes = EmployeeApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:employee-write-behind-test",
+                "employee.write-behind.enabled=true",
+                "employee.write-behind.flush-interval=PT1H",
+                "employee.write-behind.batch-size=1000"
+        })
+class EmployeeWriteBehindTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeWriteBehindBuffer buffer;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void update_ShouldMergeLaterNonNullFieldsAndWriteOnFlush() {
+        // Given
+        EmployeeDTO created = employeeService.createEmployee(EmployeeDTO.builder()
+                .firstName("Ana").lastNameFather("Flores").position("Developer").age(30).active(true).build());
+
+        // When
+        buffer.update(created.getId(), EmployeeDTO.builder().position("Lead").active(true).build());
+        EmployeeDTO accepted = buffer.update(created.getId(), EmployeeDTO.builder().firstName("Anna").active(false).build());
+        Employee beforeFlush = employeeRepository.findById(created.getId()).orElseThrow();
+        buffer.flush();
+        Employee afterFlush = employeeRepository.findById(created.getId()).orElseThrow();
+
+        // Then
+        assertEquals("Ana", beforeFlush.getFirstName());
+        assertEquals(List.of("Anna", "Lead", 30, false, created.getVersion()),
+                List.of(accepted.getFirstName(), accepted.getPosition(), accepted.getAge(), accepted.isActive(),
+                        accepted.getVersion()));
+        assertEquals("Anna", afterFlush.getFirstName());
+        assertEquals("Lead", afterFlush.getPosition());
+        assertEquals("Flores", afterFlush.getLastNameFather());
+        assertFalse(afterFlush.isActive());
+        assertEquals(created.getVersion() + 1, afterFlush.getVersion());
+        assertEquals(afterFlush.getVersion(), employeeService.getEmployeeById(created.getId()).getVersion());
+    }
+
+    @Test
+    void requests_ShouldSeePendingUpdates() throws Exception {
+        // Given
+        Long id = employeeService.createEmployee(EmployeeDTO.builder()
+                .firstName("Luis").lastNameFather("Vega").position("Analyst").active(true).build()).getId();
+        employeeService.getEmployeeById(id);
+
+        // When
+        HttpResponse<String> accepted = put(id, "", "{\"position\":\"Architect\",\"active\":true}");
+        HttpResponse<String> read = get("/employees/" + id);
+        HttpResponse<String> acceptedAgain = put(id, "", "{\"position\":\"Director\",\"active\":true}");
+        HttpResponse<String> searched = get("/employees/search?name=vega");
+
+        // Then
+        assertEquals(202, accepted.statusCode());
+        assertTrue(accepted.headers().firstValue("ETag").isEmpty());
+        assertEquals("Architect", objectMapper.readTree(accepted.body()).path("position").asText());
+        assertEquals(200, read.statusCode());
+        assertEquals("Architect", objectMapper.readTree(read.body()).path("position").asText());
+        assertEquals(202, acceptedAgain.statusCode());
+        assertEquals("Director", objectMapper.readTree(searched.body()).path(0).path("position").asText());
+    }
+
+    @Test
+    void syncUpdate_ShouldWritePendingUpdateFirstAndReturnETag() throws Exception {
+        // Given
+        EmployeeDTO created = employeeService.createEmployee(EmployeeDTO.builder()
+                .firstName("Sara").lastNameFather("Paz").position("Tester").active(true).build());
+        put(created.getId(), "", "{\"age\":44,\"active\":true}");
+
+        // When
+        HttpResponse<String> synced = put(created.getId(), "?sync=true", "{\"gender\":\"F\",\"active\":true}");
+
+        // Then
+        JsonNode employee = objectMapper.readTree(synced.body());
+        assertEquals(200, synced.statusCode());
+        assertEquals("\"" + employee.path("version").asLong() + "\"", synced.headers().firstValue("ETag").orElseThrow());
+        assertEquals(44, employee.path("age").asInt());
+        assertEquals("F", employee.path("gender").asText());
+        assertEquals(created.getVersion() + 2, employee.path("version").asLong());
+    }
+
+    @Test
+    void flushById_ShouldWriteOnlyThatEmployee() {
+        // Given
+        EmployeeDTO first = employeeService.createEmployee(EmployeeDTO.builder()
+                .firstName("Iris").lastNameFather("Mena").position("Clerk").active(true).build());
+        EmployeeDTO second = employeeService.createEmployee(EmployeeDTO.builder()
+                .firstName("Omar").lastNameFather("Mena").position("Clerk").active(true).build());
+        buffer.update(first.getId(), EmployeeDTO.builder().position("Buyer").active(true).build());
+        buffer.update(second.getId(), EmployeeDTO.builder().position("Seller").active(true).build());
+
+        // When
+        buffer.flush(first.getId());
+        String firstAfter = employeeRepository.findById(first.getId()).orElseThrow().getPosition();
+        String secondAfter = employeeRepository.findById(second.getId()).orElseThrow().getPosition();
+        buffer.flush();
+
+        // Then
+        assertEquals("Buyer", firstAfter);
+        assertEquals("Clerk", secondAfter);
+        assertEquals("Seller", employeeRepository.findById(second.getId()).orElseThrow().getPosition());
+    }
+
+    @Test
+    void flush_ShouldWriteManyEmployeesInFewStatements() {
+        // Given
+        List<EmployeeDTO> created = employeeService.createMultipleEmployees(IntStream.range(0, 200)
+                .mapToObj(i -> EmployeeDTO.builder().firstName("Batch" + i).position("Clerk").active(true).build())
+                .toList());
+        for (int round = 0; round < 5; round++) {
+            boolean active = round % 2 == 0;
+            created.forEach(employee -> buffer.update(employee.getId(), EmployeeDTO.builder().active(active).build()));
+        }
+
+        // When
+        StatementCounter.reset();
+        buffer.flush();
+        int statements = StatementCounter.current();
+        StatementCounter.clear();
+
+        // Then
+        assertTrue(statements < 20, statements + " statements");
+        assertTrue(created.stream().allMatch(employee -> employeeRepository.findById(employee.getId()).orElseThrow().isActive()));
+    }
+
+    private HttpResponse<String> put(Long id, String query, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/" + id + query))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}